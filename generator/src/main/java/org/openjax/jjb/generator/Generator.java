@@ -27,9 +27,11 @@ import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Stack;
+import java.util.TreeMap;
 
 import org.openjax.standard.jci.CompilationException;
 import org.openjax.standard.jci.InMemoryCompiler;
@@ -49,10 +51,14 @@ import org.openjax.jjb.jsonx_0_9_8.xL1gluGCXYYJc.$Property;
 import org.openjax.jjb.jsonx_0_9_8.xL1gluGCXYYJc.$String;
 import org.openjax.jjb.jsonx_0_9_8.xL1gluGCXYYJc.Json;
 import org.openjax.jjb.runtime.Binding;
+import org.openjax.jjb.runtime.DecodeException;
+import org.openjax.jjb.runtime.DoubleProperty;
 import org.openjax.jjb.runtime.EncodeException;
-import org.openjax.jjb.runtime.JSArray;
 import org.openjax.jjb.runtime.JSBundle;
 import org.openjax.jjb.runtime.JSObject;
+import org.openjax.jjb.runtime.JsonTokenizer;
+import org.openjax.jjb.runtime.JsonWriter;
+import org.openjax.jjb.runtime.LongProperty;
 import org.openjax.jjb.runtime.Property;
 import org.openjax.jjb.runtime.Required;
 import org.openjax.jjb.runtime.validator.NumberValidator;
@@ -95,9 +101,11 @@ public class Generator {
     builder.append("\n@").append(SuppressWarnings.class.getName()).append("(\"all\")");
     builder.append("\npublic class ").append(name).append(" extends ").append(JSBundle.class.getName()).append(" {");
     builder.append("\n  public static final ").append(String.class.getName()).append(" mimeType = \"").append(json.getMimeType$().text()).append("\";");
-    builder.append("\n  private static ").append(name).append(" instance = null;");
+    // The instance is created by the class initialization, which publishes
+    // the factories registered by its constructor safely to every thread
+    builder.append("\n  private static final ").append(name).append(" instance = new ").append(name).append("();");
     builder.append("\n\n  protected static ").append(name).append(" instance() {");
-    builder.append("\n    return instance == null ? instance = new ").append(name).append("() : instance;");
+    builder.append("\n    return instance;");
     builder.append("\n  }");
 
     builder.append("\n\n  @").append(Override.class.getName());
@@ -107,10 +115,14 @@ public class Generator {
 
     final Stack<String> parents = new Stack<>();
     parents.push(name);
+    final List<String> classNames = new ArrayList<>();
     for (final Json.Object object : json.getObject())
-      builder.append(writeJavaClass(parents, object, 0));
+      builder.append(writeJavaClass(parents, object, 0, classNames));
 
     builder.append("\n\n  private ").append(name).append("() {");
+    for (final String className : classNames)
+      builder.append("\n    register(").append(className).append(".class, ").append(className).append("::new);");
+
     builder.append("\n  }");
     builder.append("\n}");
 
@@ -133,6 +145,8 @@ public class Generator {
   }
 
   private static final Map<String,Json.Object> objectNameToObject = new HashMap<>();
+  private static final BigDecimal INT32_MIN = BigDecimal.valueOf(Integer.MIN_VALUE);
+  private static final BigDecimal INT32_MAX = BigDecimal.valueOf(Integer.MAX_VALUE);
 
   private static String getType(final Stack<String> parents, final $Property property) {
     if (property instanceof $String)
@@ -146,6 +160,12 @@ public class Generator {
       if ($Number.Form$.real.text().equals(numberProperty.getForm$().text()))
         return BigDecimal.class.getName();
 
+      if ($Number.Form$.int32.text().equals(numberProperty.getForm$().text()) || $Number.Form$.int64.text().equals(numberProperty.getForm$().text()))
+        return Long.class.getName();
+
+      if ($Number.Form$.float64.text().equals(numberProperty.getForm$().text()))
+        return Double.class.getName();
+
       throw new UnsupportedOperationException("Unknown number form: " + numberProperty.getForm$().text());
     }
 
@@ -167,6 +187,29 @@ public class Generator {
     throw new UnsupportedOperationException("Unsupported type: " + property.getClass().getName());
   }
 
+  /**
+   * Returns the specialization of {@link Property} that stores the value of
+   * the specified property in primitive form, or {@code null} if the value is
+   * stored as an object.
+   */
+  private static String getPrimitivePropertyType(final $Property property) {
+    if (!(property instanceof $Number) || property.getArray$().text())
+      return null;
+
+    final String form = (($Number)property).getForm$().text();
+    if ($Number.Form$.int32.text().equals(form) || $Number.Form$.int64.text().equals(form))
+      return LongProperty.class.getName();
+
+    if ($Number.Form$.float64.text().equals(form))
+      return DoubleProperty.class.getName();
+
+    return null;
+  }
+
+  private static boolean isInt32(final $Property property) {
+    return property instanceof $Number && $Number.Form$.int32.text().equals((($Number)property).getForm$().text());
+  }
+
   private static String getPropertyName(final $Property property) {
     if (property instanceof $Named)
       return (($Named)property).getName$().text();
@@ -194,6 +237,12 @@ public class Generator {
     if (property.getDescription() != null)
       builder.append("\n").append(pad).append("   /**\n").append(pad).append("    * ").append(property.getDescription().text()).append("\n").append(pad).append("    */");
 
+    final String primitivePropertyType = getPrimitivePropertyType(property);
+    if (primitivePropertyType != null) {
+      builder.append("\n").append(pad).append("   public final ").append(primitivePropertyType).append(" ").append(instanceName).append(" = new ").append(primitivePropertyType).append("(this, (").append(Binding.class.getName()).append("<").append(type).append(">)bindings.get(\"").append(valueName).append("\"));");
+      return builder.toString();
+    }
+
     builder.append("\n").append(pad).append("   public final ").append(Property.class.getName()).append("<").append(type).append("> ").append(instanceName).append(" = new ").append(Property.class.getName()).append("<").append(type).append(">(this, (").append(Binding.class.getName()).append("<").append(type).append(">)bindings.get(\"").append(valueName).append("\"));");
     return builder.toString();
   }
@@ -214,21 +263,129 @@ public class Generator {
       builder.append("\n").append(pad).append("       throw new ").append(EncodeException.class.getName()).append("(_getPath() + \".").append(valueName).append(" cannot be null\", this);\n");
     }
 
-    builder.append("\n").append(pad).append("     if (this.").append(instanceName).append(".present() || required(this.").append(instanceName).append("))");
-    builder.append("\n").append(pad).append("       builder.append(delim).append(\"\\\"").append(valueName).append("\\\":\").append(sp).append(");
-    if (property.getArray$().text())
-      return builder.append(JSArray.class.getName()).append(".toString(encode(this.").append(instanceName).append("), depth == -1 ? -1 : depth + 1));\n").toString();
+    builder.append("\n").append(pad).append("     if (this.").append(instanceName).append(".present() || required(this.").append(instanceName).append(")) {");
+    builder.append("\n").append(pad).append("       member(out, first, \"").append(valueName).append("\", depth);");
+    builder.append("\n").append(pad).append("       encode(out, this.").append(instanceName).append(", depth == -1 ? -1 : depth + 1);");
+    builder.append("\n").append(pad).append("       first = false;");
+    return builder.append("\n").append(pad).append("     }\n").toString();
+  }
 
-    if (property instanceof $Object)
-      return builder.append("this.").append(instanceName).append(".get() != null ? encode(encode(this.").append(instanceName).append("), depth == -1 ? -1 : depth + 1) : \"null\");\n").toString();
+  private static boolean isAscii(final String name) {
+    for (int i = 0; i < name.length(); ++i)
+      if (name.charAt(i) > 0x7F)
+        return false;
 
-    if (property instanceof $String)
-      return builder.append("this.").append(instanceName).append(".get() != null ? \"\\\"\" + encode(this.").append(instanceName).append(") + \"\\\"\" : \"null\");\n").toString();
+    return true;
+  }
+
+  /**
+   * Returns the names of the properties of the specified object, preceded by
+   * those of the objects it extends, mapped to the field of each, accessed via
+   * the specified expression. A name that is declared again by a subclass is
+   * mapped to the field of the topmost class that declares it, as
+   * {@code _getProperty(String)} resolves names in the super class first.
+   */
+  private static Map<String,String> getFlattenedProperties(final String bundleName, final $Element object, final String target) {
+    final String extendsName;
+    final BindingList<$Property> declared;
+    if (object instanceof $Object) {
+      final $Object object1 = ($Object)object;
+      extendsName = object1.getExtends$() != null ? object1.getExtends$().text() : null;
+      declared = object1.getProperty();
+    }
+    else {
+      final Json.Object object2 = (Json.Object)object;
+      extendsName = object2.getExtends$() != null ? object2.getExtends$().text() : null;
+      declared = object2.getProperty();
+    }
+
+    // The fields of a super class are accessed via a cast, as a field of the
+    // same name in this class would hide them
+    final Map<String,String> properties = extendsName != null ? getFlattenedProperties(bundleName, objectNameToObject.get(extendsName), "((" + bundleName + "." + Identifiers.toClassCase(extendsName) + ")this)") : new LinkedHashMap<>();
+    if (declared != null)
+      for (final $Property property : declared)
+        properties.putIfAbsent(getPropertyName(property), target + "." + getInstanceName(property));
 
-    return builder.append("encode(this.").append(instanceName).append("));\n").toString();
+    return properties;
   }
 
-  private static String writeJavaClass(final Stack<String> parents, final $Element object, final int depth) throws GeneratorExecutionException {
+  /**
+   * Writes {@code _getProperty(JsonTokenizer)}, which matches the current
+   * string token against the names of all properties, including inherited
+   * properties, by a switch on the length and the first char of the name.
+   * Names that are escaped in the input, or that are not ASCII, are resolved
+   * via {@code _getProperty(String)}.
+   */
+  private static String writeGetProperty(final Map<String,String> properties, final int depth) {
+    final String pad = Strings.padLeft("", depth * 2);
+    final Map<Integer,Map<Character,List<String>>> lengthToCharToNames = new TreeMap<>();
+    boolean isAscii = true;
+    for (final String name : properties.keySet()) {
+      if (!isAscii(name) || name.length() == 0) {
+        isAscii = false;
+        continue;
+      }
+
+      Map<Character,List<String>> charToNames = lengthToCharToNames.get(name.length());
+      if (charToNames == null)
+        lengthToCharToNames.put(name.length(), charToNames = new TreeMap<>());
+
+      List<String> group = charToNames.get(name.charAt(0));
+      if (group == null)
+        charToNames.put(name.charAt(0), group = new ArrayList<>());
+
+      group.add(name);
+    }
+
+    final StringBuilder builder = new StringBuilder();
+    builder.append("\n\n").append(pad).append("   @").append(Override.class.getName());
+    builder.append("\n").append(pad).append("   protected ").append(Property.class.getName()).append("<?> _getProperty(final ").append(JsonTokenizer.class.getName()).append(" tokenizer) throws ").append(DecodeException.class.getName()).append(", ").append(IOException.class.getName()).append(" {");
+    if (!lengthToCharToNames.isEmpty()) {
+      builder.append("\n").append(pad).append("     switch (tokenizer.getLength() - 2) {");
+      for (final Map.Entry<Integer,Map<Character,List<String>>> entry : lengthToCharToNames.entrySet()) {
+        builder.append("\n").append(pad).append("       case ").append(entry.getKey()).append(":");
+        final Map<Character,List<String>> charToNames = entry.getValue();
+        if (charToNames.size() == 1) {
+          for (final String name : charToNames.values().iterator().next())
+            builder.append(writeMatch(name, properties.get(name), pad + "  "));
+        }
+        else {
+          builder.append("\n").append(pad).append("         switch (tokenizer.charAt(1)) {");
+          for (final Map.Entry<Character,List<String>> group : charToNames.entrySet()) {
+            builder.append("\n").append(pad).append("           case '").append(group.getKey() == '\'' ? "\\'" : Strings.escapeForJava(String.valueOf(group.getKey()))).append("':");
+            for (final String name : group.getValue())
+              builder.append(writeMatch(name, properties.get(name), pad + "      "));
+
+            builder.append("\n").append(pad).append("             break;");
+          }
+
+          builder.append("\n").append(pad).append("         }");
+        }
+
+        builder.append("\n").append(pad).append("         break;");
+      }
+
+      builder.append("\n").append(pad).append("     }\n");
+    }
+
+    if (!isAscii)
+      builder.append("\n").append(pad).append("     return _getProperty(tokenizer.getString());");
+    else if (lengthToCharToNames.isEmpty())
+      builder.append("\n").append(pad).append("     return null;");
+    else
+      builder.append("\n").append(pad).append("     return tokenizer.isEscaped() ? _getProperty(tokenizer.getString()) : null;");
+
+    return builder.append("\n").append(pad).append("   }").toString();
+  }
+
+  private static String writeMatch(final String name, final String field, final String pad) {
+    final StringBuilder builder = new StringBuilder();
+    builder.append("\n").append(pad).append("       if (tokenizer.matchesString(\"").append(Strings.escapeForJava(name)).append("\"))");
+    builder.append("\n").append(pad).append("         return ").append(field).append(";");
+    return builder.toString();
+  }
+
+  private static String writeJavaClass(final Stack<String> parents, final $Element object, final int depth, final List<String> classNames) throws GeneratorExecutionException {
     final String objectName;
     final String extendsPropertyName;
     final boolean skipUnknown;
@@ -259,6 +416,13 @@ public class Generator {
 
     parents.push(objectName);
     final String className = Identifiers.toClassCase(objectName);
+    if (!isAbstract) {
+      final StringBuilder qualifiedName = new StringBuilder(parents.get(0));
+      for (int i = 1; i < parents.size(); i++)
+        qualifiedName.append('.').append(Identifiers.toClassCase(parents.get(i)));
+
+      classNames.add(qualifiedName.toString());
+    }
 
     final String pad = Strings.padLeft("", depth * 2);
     final StringBuilder builder = new StringBuilder("\n");
@@ -278,7 +442,7 @@ public class Generator {
         final boolean isArray = property.getArray$().text();
         final String type = isArray ? List.class.getName() + "<" + rawType + ">" : rawType;
 
-        builder.append("\n").append(pad).append("       bindings.put(\"").append(propertyName).append("\", new ").append(Binding.class.getName()).append("<").append(type).append(">(\"").append(propertyName).append("\", ").append(className).append(".class.getDeclaredField(\"").append(getInstanceName(property)).append("\"), ").append(rawType).append(".class, ").append(isAbstract).append(", ").append(isArray).append(", ").append(Required.class.getName()).append(".").append(property.getRequired$().text().toUpperCase()).append(", ").append(!property.getNull$().text()).append((property instanceof $String ? ", " + (($String)property).getUrlDecode$().text() + ", " + (($String)property).getUrlEncode$().text() : ""));
+        builder.append("\n").append(pad).append("       bindings.put(\"").append(propertyName).append("\", new ").append(Binding.class.getName()).append("<").append(type).append(">(\"").append(propertyName).append("\", ").append(className).append(".class.getDeclaredField(\"").append(getInstanceName(property)).append("\"), ").append(rawType).append(".class, ").append(isAbstract).append(", ").append(isArray).append(", ").append(Required.class.getName()).append(".").append(property.getRequired$().text().toUpperCase()).append(", ").append(!property.getNull$().text()).append((property instanceof $String ? ", " + (($String)property).getUrlDecode$().text() + ", " + (($String)property).getUrlEncode$().text() + ", " + (($String)property).getDedup$().text() : isInt32(property) ? ", true" : ""));
         if (property instanceof $String) {
           final $String string = ($String)property;
           if (string.getPattern$() != null || string.getLength$() != null)
@@ -286,11 +450,32 @@ public class Generator {
         }
         else if (property instanceof $Number) {
           final $Number number = ($Number)property;
-          if (Form$.integer.text().equals(number.getForm$().text()) || number.getMin$() != null || number.getMax$() != null) {
-            if (number.getMin$() != null && number.getMax$() != null && number.getMin$().text().compareTo(number.getMax$().text()) > 0)
-              throw new GeneratorExecutionException("min (" + number.getMin$().text() + ") > max (" + number.getMax$().text() + ") on property: " + objectName + "." + propertyName);
+          final String form = number.getForm$().text();
+          final boolean isInt32 = Form$.int32.text().equals(form);
+          final boolean isInteger = isInt32 || Form$.integer.text().equals(form) || Form$.int64.text().equals(form);
+          boolean minInclusive = $Number.MinBound$.inclusive.text().equals(number.getMinBound$().text());
+          boolean maxInclusive = $Number.MinBound$.inclusive.text().equals(number.getMaxBound$().text());
+          BigDecimal min = number.getMin$() == null ? null : number.getMin$().text();
+          BigDecimal max = number.getMax$() == null ? null : number.getMax$().text();
+          if (isInt32) {
+            // The range of int32 is checked on every decode by the Binding's int32
+            // flag, and by the validator on encode
+            if (min == null || min.compareTo(INT32_MIN) < 0) {
+              min = INT32_MIN;
+              minInclusive = true;
+            }
+
+            if (max == null || max.compareTo(INT32_MAX) > 0) {
+              max = INT32_MAX;
+              maxInclusive = true;
+            }
+          }
+
+          if (Form$.integer.text().equals(form) || min != null || max != null) {
+            if (min != null && max != null && min.compareTo(max) > 0)
+              throw new GeneratorExecutionException("min (" + min + ") > max (" + max + ") on property: " + objectName + "." + propertyName);
 
-            builder.append(", new ").append(NumberValidator.class.getName()).append("(").append(Form$.integer.text().equals(number.getForm$().text())).append(", ").append((number.getMin$() == null ? "null" : (BigDecimals.class.getName() + ".of(\"" +  number.getMin$().text().stripTrailingZeros().toPlainString()) + "\")")).append(", ").append($Number.MinBound$.inclusive.text().equals(number.getMinBound$().text())).append(", ").append((number.getMax$() == null ? "null" : (BigDecimals.class.getName() + ".of(\"" +  number.getMax$().text().stripTrailingZeros().toPlainString()) + "\")")).append(", ").append($Number.MinBound$.inclusive.text().equals(number.getMaxBound$().text())).append(")");
+            builder.append(", new ").append(NumberValidator.class.getName()).append("(").append(isInteger).append(", ").append((min == null ? "null" : (BigDecimals.class.getName() + ".of(\"" +  min.stripTrailingZeros().toPlainString()) + "\")")).append(", ").append(minInclusive).append(", ").append((max == null ? "null" : (BigDecimals.class.getName() + ".of(\"" +  max.stripTrailingZeros().toPlainString()) + "\")")).append(", ").append(maxInclusive).append(")");
           }
         }
 
@@ -307,7 +492,7 @@ public class Generator {
     if (properties != null)
       for (final $Property property : properties)
         if (property instanceof $Object)
-          builder.append(writeJavaClass(parents, property, depth + 1));
+          builder.append(writeJavaClass(parents, property, depth + 1, classNames));
 
     builder.append("\n\n").append(pad).append("   public ").append(className).append("(final ").append(JSObject.class.getName()).append(" object) {");
     builder.append("\n").append(pad).append("     super(object);");
@@ -365,6 +550,61 @@ public class Generator {
       builder.append("\n").append(pad).append("     return bindings.values();");
     }
     builder.append("\n").append(pad).append("   }");
+    builder.append("\n\n").append(pad).append("   @").append(Override.class.getName());
+    builder.append("\n").append(pad).append("   protected ").append(Property.class.getName()).append("<?> _getProperty(final ").append(String.class.getName()).append(" name) {");
+    if (extendsPropertyName != null) {
+      if (properties == null) {
+        builder.append("\n").append(pad).append("     return super._getProperty(name);");
+      }
+      else {
+        builder.append("\n").append(pad).append("     final ").append(Property.class.getName()).append("<?> property = super._getProperty(name);");
+        builder.append("\n").append(pad).append("     if (property != null)");
+        builder.append("\n").append(pad).append("       return property;\n");
+      }
+    }
+
+    if (properties != null) {
+      builder.append("\n").append(pad).append("     switch (name) {");
+      for (final $Property property : properties) {
+        builder.append("\n").append(pad).append("       case \"").append(getPropertyName(property)).append("\":");
+        builder.append("\n").append(pad).append("         return this.").append(getInstanceName(property)).append(";");
+      }
+
+      builder.append("\n").append(pad).append("       default:");
+      builder.append("\n").append(pad).append("         return null;");
+      builder.append("\n").append(pad).append("     }");
+    }
+    else if (extendsPropertyName == null) {
+      builder.append("\n").append(pad).append("     return null;");
+    }
+    builder.append("\n").append(pad).append("   }");
+
+    builder.append(writeGetProperty(getFlattenedProperties(parents.get(0), object, "this"), depth));
+
+    builder.append("\n\n").append(pad).append("   @").append(Override.class.getName());
+    builder.append("\n").append(pad).append("   protected void _checkRequired(final ").append(JsonTokenizer.class.getName()).append(" tokenizer) throws ").append(DecodeException.class.getName()).append(", ").append(IOException.class.getName()).append(" {");
+    if (extendsPropertyName != null)
+      builder.append("\n").append(pad).append("     super._checkRequired(tokenizer);");
+
+    if (properties != null)
+      for (final $Property property : properties)
+        if ("true".equals(property.getRequired$().text()) || "decode".equals(property.getRequired$().text()) || !property.getNull$().text())
+          builder.append("\n").append(pad).append("     checkRequired(this.").append(getInstanceName(property)).append(", tokenizer);");
+
+    builder.append("\n").append(pad).append("   }");
+
+    if (properties != null) {
+      builder.append("\n\n").append(pad).append("   @").append(Override.class.getName());
+      builder.append("\n").append(pad).append("   public void reset() {");
+      if (extendsPropertyName != null)
+        builder.append("\n").append(pad).append("     super.reset();");
+
+      for (final $Property property : properties)
+        builder.append("\n").append(pad).append("     reset(this.").append(getInstanceName(property)).append(");");
+
+      builder.append("\n").append(pad).append("   }");
+    }
+
     builder.append("\n\n").append(pad).append("   @").append(Override.class.getName());
     builder.append("\n").append(pad).append("   protected ").append(JSBundle.class.getName()).append(" _bundle() {");
     builder.append("\n").append(pad).append("     return ").append(parents.get(0)).append(".instance();");
@@ -378,17 +618,14 @@ public class Generator {
         builder.append(writeField(parents, property, depth));
 
       builder.append("\n\n").append(pad).append("   @").append(Override.class.getName());
-      builder.append("\n").append(pad).append("   protected ").append(String.class.getName()).append(" _encode(final int depth) {");
-      builder.append("\n").append(pad).append("     final ").append(StringBuilder.class.getName()).append(" builder = new ").append(StringBuilder.class.getName()).append("(super._encode(depth));");
-      builder.append("\n").append(pad).append("     final int startLength = builder.length();");
-      builder.append("\n").append(pad).append("     if (depth == -1 && startLength == 0)");
-      builder.append("\n").append(pad).append("       builder.append(' ');");
-      builder.append("\n").append(pad).append("     final String sp = depth > -1 ? \" \" : \"\";");
-      builder.append("\n").append(pad).append("     final String delim = depth > -1 ? \",\\n\" + pad(depth) : \",\";");
+      builder.append("\n").append(pad).append("   protected void _encode(final ").append(JsonWriter.class.getName()).append(" out, final int depth) throws ").append(IOException.class.getName()).append(" {");
+      builder.append("\n").append(pad).append("     final long start = out.getLength();");
+      builder.append("\n").append(pad).append("     super._encode(out, depth);");
+      builder.append("\n").append(pad).append("     boolean first = out.getLength() == start;");
       for (int i = 0; i < properties.size(); i++)
         builder.append(writeEncode(properties.get(i), depth));
 
-      builder.append("\n").append(pad).append("     return startLength == builder.length() || startLength != 0 ? builder.toString() : builder.substring(2);\n").append(pad).append("   }");
+      builder.append("\n").append(pad).append("   }");
     }
 
     if (!isAbstract) {
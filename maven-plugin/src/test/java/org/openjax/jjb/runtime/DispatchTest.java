@@ -0,0 +1,87 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import jjb.dispatch;
+
+public class DispatchTest {
+  private static final String[] letters = {"a", "abc", "b", "ab", "ac", "ba", "abd", "axe", "bcd", "name"};
+  private static final String[] names = {"a", "abc", "b", "ab", "ac", "ba", "abd", "axe", "bcd", "name", "nam", "names"};
+
+  private static JSObject parse(final Class<?> type, final String json, final int mode) throws DecodeException, IOException {
+    final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    return mode == 0 ? JSObject.parse(type, new StringReader(json)) : mode == 1 ? JSObject.parse(type, new ByteArrayInputStream(bytes)) : mode == 2 ? JSObject.parse(type, bytes) : JSObject.parse(type, ByteBuffer.wrap(bytes));
+  }
+
+  private static String escape(final String name) {
+    return "\\u" + String.format("%04x", (int)name.charAt(0)) + name.substring(1);
+  }
+
+  private static void assertDispatch(final Class<?> type, final String[] names) throws DecodeException, IOException {
+    final StringBuilder all = new StringBuilder();
+    for (int mode = 0; mode < 4; ++mode) {
+      for (final String name : names) {
+        for (final String key : new String[] {name, escape(name)}) {
+          final JSObject object = parse(type, "{\"" + key + "\": \"" + name + "!\"}", mode);
+          for (final String other : names)
+            assertEquals(other.equals(name) ? name + "!" : null, object._getProperty(other).get());
+        }
+
+        if (mode == 0)
+          all.append(all.length() == 0 ? "{" : ", ").append('"').append(name).append("\": \"").append(name).append("!\"");
+      }
+
+      final JSObject object = parse(type, all + "}", mode);
+      for (final String name : names)
+        assertEquals(name + "!", object._getProperty(name).get());
+    }
+  }
+
+  @Test
+  public void testDispatch() throws DecodeException, IOException {
+    assertDispatch(dispatch.Letters.class, letters);
+    assertDispatch(dispatch.Names.class, names);
+  }
+
+  @Test
+  public void testUnknown() throws IOException {
+    // Names of the same length and first char as a property
+    for (final String name : new String[] {"c", "ad", "bb", "abe", "bce", "nama", "namex", "abcd", ""}) {
+      for (int mode = 0; mode < 4; ++mode) {
+        for (final String key : name.length() == 0 ? new String[] {name} : new String[] {name, escape(name)}) {
+          try {
+            parse(dispatch.Names.class, "{\"" + key + "\": null}", mode);
+            fail("Expected DecodeException");
+          }
+          catch (final DecodeException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Unknown property name: " + name + " "));
+          }
+        }
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,108 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import jjb.api;
+
+/**
+ * Asserts that the encode of objects is unchanged, byte for byte, from that of
+ * the generated classes before {@code _encode(JsonWriter,int)}.
+ */
+public class EncodeTest {
+  private static api.Message message() {
+    final api.Message.Attachment att1 = new api.Message.Attachment();
+    att1.filename.set("data1.txt");
+    final api.Message.Attachment.Data data1 = new api.Message.Attachment.Data();
+    att1.data.set(data1);
+    data1.a.set("\"1A");
+    data1.b.set("\\1B");
+    data1.c.set("1C");
+    att1.serial.set(new BigDecimal("2.50"));
+
+    final api.Message.Attachment att2 = new api.Message.Attachment();
+    att2.filename.set("d\u00e9j\u00e0 vu/\ud83d\ude00\t\u0001.txt");
+    att2.data.set(null);
+    att2.serial.set(BigDecimal.valueOf(-2.424242424));
+
+    final api.Signature signature = new api.Signature();
+    signature.pubRsa.set("pub_rsa");
+    signature.xmldsig.set(null);
+
+    final api.Message message = new api.Message();
+    message.subject.set("Line 1\nLine 2\r\n\"quoted\" \\ </script>");
+    message.url.set("http://www.thesaurus.com/browse/cool?s=t");
+    message.important.set(false);
+    message.requiredArray.set(Arrays.asList(true, false, null));
+    message.notRequired.set(null);
+    message.recipients.set(Arrays.asList("alex", "seva"));
+    message.emptyarray.set(new ArrayList<String>());
+    message.attachment.set(Arrays.asList(att1, null, att2));
+    message.signature.set(signature);
+    return message;
+  }
+
+  private static api.Links links() {
+    final api.Links links = new api.Links();
+    links.href.set("https://www.openjax.org/a?b=c&d=%20");
+    links.rel.set("\u2028self\u2029");
+    links.method.set("GET");
+    links.encType.set("\u007f\u0000\u001f");
+    return links;
+  }
+
+  private static void assertEncode(final String toString, final String external, final JSObject object) throws IOException {
+    assertEquals(toString, object.toString());
+    assertEquals(external, object.toExternalForm());
+
+    final StringWriter writer = new StringWriter();
+    object.writeTo(writer);
+    assertEquals(external, writer.toString());
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    object.writeTo(out);
+    assertArrayEquals(external.getBytes(StandardCharsets.UTF_8), out.toByteArray());
+  }
+
+  @Test
+  public void testMessage() throws IOException {
+    assertEncode("{\n  \"subject\": \"Line 1\\nLine 2\\r\\n\\\"quoted\\\" \\\\ <\\/script>\",\n  \"url\": \"http:\\/\\/www.thesaurus.com\\/browse\\/cool?s=t\",\n  \"important\": false,\n  \"requiredArray\": [true, false, null],\n  \"notRequired\": null,\n  \"recipients\": [\"alex\", \"seva\"],\n  \"emptyarray\": [],\n  \"attachment\": [{\n    \"filename\": \"data1.txt\",\n    \"data\": {\n      \"a\": \"\\\"1A\",\n      \"b\": \"\\\\1B\",\n      \"c\": \"1C\"\n    },\n    \"serial\": 2.50\n  }, null, {\n    \"filename\": \"d\u00e9j\u00e0 vu\\/\ud83d\ude00\\t\\u0001.txt\",\n    \"data\": null,\n    \"serial\": -2.424242424\n  }],\n  \"signature\": {\n    \"xmldsig\": null,\n    \"pub_rsa\": \"pub_rsa\"\n  }\n}", "{\"subject\":\"Line 1\\nLine 2\\r\\n\\\"quoted\\\" \\\\ <\\/script>\",\"url\":\"http:\\/\\/www.thesaurus.com\\/browse\\/cool?s=t\",\"important\":false,\"requiredArray\":[true,false,null],\"notRequired\":null,\"recipients\":[\"alex\",\"seva\"],\"emptyarray\":[],\"attachment\":[{\"filename\":\"data1.txt\",\"data\":{\"a\":\"\\\"1A\",\"b\":\"\\\\1B\",\"c\":\"1C\"},\"serial\":2.50},null,{\"filename\":\"d\u00e9j\u00e0 vu\\/\ud83d\ude00\\t\\u0001.txt\",\"data\":null,\"serial\":-2.424242424}],\"signature\":{\"xmldsig\":null,\"pub_rsa\":\"pub_rsa\"}}", message());
+  }
+
+  @Test
+  public void testEscape() throws IOException {
+    assertEncode("{\n  \"href\": \"https:\\/\\/www.openjax.org\\/a?b=c&d=%20\",\n  \"rel\": \"\u2028self\u2029\",\n  \"method\": \"GET\",\n  \"encType\": \"\u007f\\u0000\\u001f\"\n}", "{\"href\":\"https:\\/\\/www.openjax.org\\/a?b=c&d=%20\",\"rel\":\"\u2028self\u2029\",\"method\":\"GET\",\"encType\":\"\u007f\\u0000\\u001f\"}", links());
+  }
+
+  @Test
+  public void testPayPal() throws DecodeException, IOException {
+    final api.PayPalEvent payPal = JSObject.parse(api.PayPalEvent.class, new InputStreamReader(Thread.currentThread().getContextClassLoader().getResourceAsStream("paypal.json")));
+    assertEncode("{\n  \"id\": \"WH-7YX49823S2290830K-0JE13296W68552352\",\n  \"create_time\": \"2016-05-31T17:53:29Z\",\n  \"event_type\": \"PAYMENT.SALE.REFUNDED\",\n  \"event_version\": \"1.0\",\n  \"summary\": \"A $ 14.99 USD sale payment was refunded\",\n  \"resource_type\": \"refund\",\n  \"resource\": {\n    \"id\": \"29B43325P49508437\",\n    \"parent_payment\": \"PAY-9MX90473V8752831HK5G4RDI\",\n    \"update_time\": \"2016-05-31T17:52:18Z\",\n    \"create_time\": \"2016-05-31T17:52:18Z\",\n    \"state\": \"completed\",\n    \"amount\": {\n      \"total\": \"14.99\",\n      \"currency\": \"USD\"\n    },\n    \"links\": [{\n      \"href\": \"https:\\/\\/api.paypal.com\\/v1\\/payments\\/refund\\/29B43325P49508437\",\n      \"rel\": \"self\",\n      \"method\": \"GET\"\n    }, {\n      \"href\": \"https:\\/\\/api.paypal.com\\/v1\\/payments\\/payment\\/PAY-9MX90473V8752831HK5G4RDI\",\n      \"rel\": \"parent_payment\",\n      \"method\": \"GET\"\n    }, {\n      \"href\": \"https:\\/\\/api.paypal.com\\/v1\\/payments\\/sale\\/02399573KS095945W\",\n      \"rel\": \"sale\",\n      \"method\": \"GET\"\n    }],\n    \"sale_id\": \"02399573KS095945W\",\n    \"refund_to_payer\": {\n      \"value\": \"14.99\",\n      \"currency\": \"USD\"\n    }\n  },\n  \"links\": [{\n    \"href\": \"https:\\/\\/api.paypal.com\\/v1\\/notifications\\/webhooks-events\\/WH-7YX49823S2290830K-0JE13296W68552352\",\n    \"rel\": \"self\",\n    \"method\": \"GET\"\n  }, {\n    \"href\": \"https:\\/\\/api.paypal.com\\/v1\\/notifications\\/webhooks-events\\/WH-7YX49823S2290830K-0JE13296W68552352\\/resend\",\n    \"rel\": \"resend\",\n    \"method\": \"POST\"\n  }]\n}", "{\"id\":\"WH-7YX49823S2290830K-0JE13296W68552352\",\"create_time\":\"2016-05-31T17:53:29Z\",\"event_type\":\"PAYMENT.SALE.REFUNDED\",\"event_version\":\"1.0\",\"summary\":\"A $ 14.99 USD sale payment was refunded\",\"resource_type\":\"refund\",\"resource\":{\"id\":\"29B43325P49508437\",\"parent_payment\":\"PAY-9MX90473V8752831HK5G4RDI\",\"update_time\":\"2016-05-31T17:52:18Z\",\"create_time\":\"2016-05-31T17:52:18Z\",\"state\":\"completed\",\"amount\":{\"total\":\"14.99\",\"currency\":\"USD\"},\"links\":[{\"href\":\"https:\\/\\/api.paypal.com\\/v1\\/payments\\/refund\\/29B43325P49508437\",\"rel\":\"self\",\"method\":\"GET\"},{\"href\":\"https:\\/\\/api.paypal.com\\/v1\\/payments\\/payment\\/PAY-9MX90473V8752831HK5G4RDI\",\"rel\":\"parent_payment\",\"method\":\"GET\"},{\"href\":\"https:\\/\\/api.paypal.com\\/v1\\/payments\\/sale\\/02399573KS095945W\",\"rel\":\"sale\",\"method\":\"GET\"}],\"sale_id\":\"02399573KS095945W\",\"refund_to_payer\":{\"value\":\"14.99\",\"currency\":\"USD\"}},\"links\":[{\"href\":\"https:\\/\\/api.paypal.com\\/v1\\/notifications\\/webhooks-events\\/WH-7YX49823S2290830K-0JE13296W68552352\",\"rel\":\"self\",\"method\":\"GET\"},{\"href\":\"https:\\/\\/api.paypal.com\\/v1\\/notifications\\/webhooks-events\\/WH-7YX49823S2290830K-0JE13296W68552352\\/resend\",\"rel\":\"resend\",\"method\":\"POST\"}]}", payPal);
+  }
+}
\ No newline at end of file
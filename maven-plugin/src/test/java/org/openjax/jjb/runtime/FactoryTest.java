@@ -0,0 +1,100 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+
+import jjb.api;
+import jjb.dispatch;
+import jjb.inherit;
+import jjb.primitive;
+import jjb.type;
+
+public class FactoryTest {
+  public static class CustomLinks extends api.Links {
+  }
+
+  public static class NoDefault extends api.Links {
+    public NoDefault(final String href) {
+      this.href.set(href);
+    }
+  }
+
+  private static final String links = "{\"href\": \"http://www.openjax.org/\", \"rel\": \"self\", \"method\": \"GET\"}";
+
+  private static int assertFactories(final Class<?> type) {
+    int count = 0;
+    for (final Class<?> declared : type.getDeclaredClasses()) {
+      if (JSObject.class.isAssignableFrom(declared)) {
+        final Supplier<? extends JSObject> factory = JSBundle.getFactory(declared);
+        if (Modifier.isAbstract(declared.getModifiers())) {
+          assertNull(factory);
+        }
+        else {
+          final JSObject instance = factory.get();
+          assertSame(declared, instance.getClass());
+          assertNotSame(instance, factory.get());
+          assertSame(declared, JSObjectBase.newInstance(declared).getClass());
+          ++count;
+        }
+      }
+
+      count += assertFactories(declared);
+    }
+
+    return count;
+  }
+
+  @Test
+  public void testRegistered() {
+    assertEquals(14, assertFactories(api.class));
+    assertTrue(assertFactories(type.class) > 0);
+    assertEquals(1, assertFactories(primitive.class));
+    assertEquals(1, assertFactories(inherit.class));
+    assertEquals(2, assertFactories(dispatch.class));
+  }
+
+  @Test
+  public void testFallback() throws DecodeException, IOException {
+    // A class that is not declared in a bundle is created via its constructor
+    assertNull(JSBundle.getFactory(CustomLinks.class));
+    assertSame(CustomLinks.class, JSObjectBase.newInstance(CustomLinks.class).getClass());
+    final CustomLinks custom = JSObject.parse(CustomLinks.class, new StringReader(links));
+    assertSame(CustomLinks.class, custom.getClass());
+    assertEquals("self", custom.rel.get());
+
+    final JSObjectIterator<CustomLinks> iterator = JSObject.parseSequence(CustomLinks.class, new StringReader(links + links));
+    assertSame(CustomLinks.class, iterator.next().getClass());
+    assertSame(CustomLinks.class, iterator.next().getClass());
+
+    assertNull(JSBundle.getFactory(NoDefault.class));
+    try {
+      JSObjectBase.newInstance(NoDefault.class);
+      fail("Expected UnsupportedOperationException");
+    }
+    catch (final UnsupportedOperationException e) {
+      assertTrue(e.getCause() instanceof NoSuchMethodException);
+    }
+  }
+}
\ No newline at end of file
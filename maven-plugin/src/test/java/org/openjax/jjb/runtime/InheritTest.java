@@ -0,0 +1,68 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+import jjb.inherit;
+
+public class InheritTest {
+  private static Property<?> getProperty(final JSObject object, final String json) throws DecodeException, IOException {
+    final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    final JsonTokenizer tokenizer = new Utf8JsonTokenizer(bytes, 0, bytes.length);
+    tokenizer.nextToken();
+    return object._getProperty(tokenizer);
+  }
+
+  @Test
+  public void testGetProperty() throws DecodeException, IOException {
+    final inherit.Derived derived = new inherit.Derived();
+    final JSObject object = derived;
+    for (final String name : new String[] {"id", "name", "size", "kind"}) {
+      final Property<?> property = object._getProperty(name);
+      assertNotNull(property);
+      assertSame(property, getProperty(derived, "\"" + name + "\""));
+      assertSame(property, getProperty(derived, "\"\\u" + String.format("%04x", (int)name.charAt(0)) + name.substring(1) + "\""));
+    }
+
+    // A name declared again by a subclass resolves to the topmost field
+    assertSame(((inherit.Base)derived).name, object._getProperty("name"));
+    assertSame(((inherit.Middle)derived).size, object._getProperty("size"));
+    assertSame(derived.kind, object._getProperty("kind"));
+    assertNull(object._getProperty("other"));
+    assertNull(getProperty(derived, "\"other\""));
+  }
+
+  @Test
+  public void testDecode() throws DecodeException, IOException {
+    for (final String json : new String[] {"{\"id\": \"1\", \"name\": \"n\", \"size\": \"s\", \"kind\": \"k\"}", "{\"\\u0069d\": \"1\", \"n\\u0061me\": \"n\", \"siz\\u0065\": \"s\", \"kind\": \"k\"}"}) {
+      final inherit.Derived derived = JSObject.parse(inherit.Derived.class, new StringReader(json));
+      assertEquals("1", ((inherit.Base)derived).id.get());
+      assertEquals("n", ((inherit.Base)derived).name.get());
+      assertEquals("s", ((inherit.Middle)derived).size.get());
+      assertEquals("k", derived.kind.get());
+      assertFalse(((inherit.Middle)derived).name.present());
+      assertFalse(derived.size.present());
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,166 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+import jjb.api;
+
+public class IteratorTest {
+  private static final String link = "{\"href\": \"http://www.openjax.org/\", \"rel\": \"a,]\", \"method\": \"GET\"}";
+
+  private static JSArrayIterator<api.Links> parseArray(final String json, final int mode, final DecodeOptions options) throws DecodeException, IOException {
+    return mode == 0 ? JSObject.parseArray(api.Links.class, new StringReader(json), options) : JSObject.parseArray(api.Links.class, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), options);
+  }
+
+  private static JSObjectIterator<api.Giphy> parseSequence(final String json, final int mode, final DecodeOptions options) throws DecodeException, IOException {
+    return mode == 0 ? JSObject.parseSequence(api.Giphy.class, new StringReader(json), options) : JSObject.parseSequence(api.Giphy.class, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), options);
+  }
+
+  private static <T>List<T> toList(final java.util.Iterator<T> iterator) {
+    final List<T> list = new ArrayList<>();
+    while (iterator.hasNext())
+      list.add(iterator.next());
+
+    return list;
+  }
+
+  private static void assertError(final String expected, final java.util.Iterator<?> iterator) {
+    try {
+      toList(iterator);
+      fail("Expected IllegalStateException");
+    }
+    catch (final IllegalStateException e) {
+      assertTrue(e.getCause() instanceof DecodeException);
+      assertTrue(e.getMessage(), e.getMessage().startsWith(expected));
+    }
+  }
+
+  @Test
+  public void testArray() throws DecodeException, IOException {
+    for (int mode = 0; mode < 2; ++mode) {
+      try (final JSArrayIterator<api.Links> iterator = parseArray("[" + link + ", null,\n" + link.replace("GET", "PUT") + "]", mode, DecodeOptions.DEFAULT)) {
+        final List<api.Links> links = toList(iterator);
+        assertEquals(3, links.size());
+        assertEquals("a,]", links.get(0).rel.get());
+        assertNull(links.get(1));
+        assertEquals("PUT", links.get(2).method.get());
+        assertFalse(iterator.hasNext());
+      }
+
+      try (final JSArrayIterator<api.Links> iterator = parseArray("[" + link + ", " + link + "]", mode, DecodeOptions.DEFAULT)) {
+        assertEquals(2, iterator.stream().count());
+      }
+    }
+  }
+
+  @Test
+  public void testEmptyArray() throws DecodeException, IOException {
+    for (int mode = 0; mode < 2; ++mode) {
+      for (final String json : new String[] {"[]", " [\n] "}) {
+        final JSArrayIterator<api.Links> iterator = parseArray(json, mode, DecodeOptions.DEFAULT);
+        assertFalse(iterator.hasNext());
+        try {
+          iterator.next();
+          fail("Expected NoSuchElementException");
+        }
+        catch (final NoSuchElementException e) {
+        }
+      }
+
+      try {
+        parseArray(link, mode, DecodeOptions.DEFAULT);
+        fail("Expected DecodeException");
+      }
+      catch (final DecodeException e) {
+        assertTrue(e.getMessage(), e.getMessage().startsWith("Expected \"[\" but found \"{\""));
+      }
+    }
+  }
+
+  @Test
+  public void testArrayErrors() throws DecodeException, IOException {
+    for (int mode = 0; mode < 2; ++mode) {
+      assertError("Expected \"{}\" but found \"]\"", parseArray("[" + link + ",]", mode, DecodeOptions.DEFAULT));
+      assertError("Expected \"{}\" but found \",\"", parseArray("[," + link + "]", mode, DecodeOptions.DEFAULT));
+      assertError("Expected \",\" or \"]\" but found \"{\"", parseArray("[" + link + " " + link + "]", mode, DecodeOptions.DEFAULT));
+      assertError("Expected \"{}\" but found \"[\"", parseArray("[[" + link + "]]", mode, DecodeOptions.DEFAULT));
+      assertError("Expected \"{}\" but found \"1\"", parseArray("[1]", mode, DecodeOptions.DEFAULT));
+    }
+  }
+
+  @Test
+  public void testMaxArrayLength() throws DecodeException, IOException {
+    final DecodeOptions options = DecodeOptions.DEFAULT.withMaxArrayLength(2);
+    for (int mode = 0; mode < 2; ++mode) {
+      assertEquals(2, toList(parseArray("[" + link + ", null]", mode, options)).size());
+      final JSArrayIterator<api.Links> iterator = parseArray("[" + link + ", null, " + link + "]", mode, options);
+      assertNotNull(iterator.next());
+      assertNull(iterator.next());
+      assertError("Array length exceeds the limit of 2", iterator);
+    }
+  }
+
+  private static String giphy(final int length) {
+    final StringBuilder builder = new StringBuilder("{\"data\": [");
+    for (int i = 0; i < length; ++i)
+      builder.append(i > 0 ? ", " : "").append("{\"id\": \"").append(i).append("\", \"url\": \"}{\"}");
+
+    return builder.append("]}").toString();
+  }
+
+  @Test
+  public void testSequence() throws DecodeException, IOException {
+    for (int mode = 0; mode < 2; ++mode) {
+      try (final JSObjectIterator<api.Giphy> iterator = parseSequence(giphy(1) + "\n" + giphy(2) + giphy(0) + "\n", mode, DecodeOptions.DEFAULT)) {
+        final List<api.Giphy> list = toList(iterator);
+        assertEquals(3, list.size());
+        assertEquals("}{", list.get(0).data.get().get(0).url.get());
+        assertEquals(2, list.get(1).data.get().size());
+        assertEquals(0, list.get(2).data.get().size());
+      }
+
+      for (final String json : new String[] {"", " \n\n"})
+        assertFalse(parseSequence(json, mode, DecodeOptions.DEFAULT).hasNext());
+    }
+  }
+
+  @Test
+  public void testSequenceErrors() throws DecodeException, IOException {
+    final DecodeOptions options = DecodeOptions.DEFAULT.withMaxArrayLength(2);
+    for (int mode = 0; mode < 2; ++mode) {
+      assertError("Expected \"{\" but found \",\"", parseSequence(giphy(1) + "," + giphy(1), mode, DecodeOptions.DEFAULT));
+      assertError("Expected \"{\" but found \"[\"", parseSequence("[" + giphy(1) + "]", mode, DecodeOptions.DEFAULT));
+
+      // The limits apply to each document
+      assertEquals(3, toList(parseSequence(giphy(2) + giphy(2) + giphy(2), mode, options)).size());
+      final JSObjectIterator<api.Giphy> iterator = parseSequence(giphy(2) + giphy(3), mode, options);
+      assertEquals(2, iterator.next().data.get().size());
+      assertError("Array length exceeds the limit of 2", iterator);
+    }
+  }
+}
\ No newline at end of file
@@ -179,6 +179,24 @@ public class JSObjectTest {
     assertEquals(signature, decoded.signature.get());
   }
 
+  @Test
+  public void testArrays() throws Exception {
+    final String json = "{\"subject\": \"s\", \"url\": \"http://www.openjax.org/\", \"important\": true, \"requiredArray\": [true, false], \"recipients\": [\"alex\", \"seva\"], \"emptyarray\": [], \"attachment\": [null], \"signature\": null}";
+    final api.Message message = JSObject.parse(api.Message.class, new StringReader(json));
+
+    // The arrays of the decode are kept, rather than copied
+    assertTrue(message.recipients.get() instanceof JSArray);
+    assertTrue(message.attachment.get() instanceof JSArray);
+    assertTrue(message.requiredArray.get() instanceof PrimitiveArray);
+    assertEquals(Arrays.asList("alex", "seva"), message.recipients.get());
+    assertEquals(message.recipients.get(), Arrays.asList("alex", "seva"));
+
+    final api.Message copy = JSObject.parse(api.Message.class, new StringReader(json));
+    copy.recipients.set(new ArrayList<>(Arrays.asList("alex", "seva")));
+    assertEquals(copy, message);
+    assertEquals(message, copy);
+  }
+
   @Test
   public void testPayPalObject() throws Exception {
     JSObject.parse(api.PayPalEvent.class, new InputStreamReader(Thread.currentThread().getContextClassLoader().getResourceAsStream("paypal.json")));
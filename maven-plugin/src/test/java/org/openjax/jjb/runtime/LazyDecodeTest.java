@@ -0,0 +1,133 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import jjb.api;
+
+public class LazyDecodeTest {
+  private static final String json = "{\"subject\": \"Test \\\"subject\\\"\", \"url\": \"http://www.openjax.org/\", \"important\": true, \"requiredArray\": [true], \"recipients\": [\"alex\", \"seva\"], \"emptyarray\": [], \"attachment\": [{\"filename\": \"data1.txt\", \"data\": {\"a\": \"1A\", \"b\": \"1B\", \"c\": \"1C\"}, \"serial\": 2}, null], \"signature\": {\"xmldsig\": \"xmldsig\", \"pub_rsa\": \"pub_rsa\"}}";
+
+  @Test
+  public void testLazy() throws DecodeException, IOException {
+    final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    final api.Message lazy = JSObject.parseLazy(api.Message.class, bytes);
+    final api.Message message = JSObject.parse(api.Message.class, bytes);
+    assertEquals(Boolean.TRUE, lazy.important.get());
+    assertEquals("Test \"subject\"", lazy.subject.get());
+    assertSame(lazy.attachment.get(), lazy.attachment.get());
+    assertEquals("1A", lazy.attachment.get().get(0).data.get().a.get());
+    assertNull(lazy.attachment.get().get(1));
+    assertEquals(Arrays.asList("alex", "seva"), lazy.recipients.get());
+    assertEquals(message, lazy);
+    assertEquals(message.toString(), lazy.toString());
+    lazy.validate();
+  }
+
+  @Test
+  public void testDeferred() throws DecodeException, IOException {
+    final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    final api.Message lazy = JSObject.parseLazy(api.Message.class, bytes);
+
+    // The values that are deferred are decoded from the array on first access
+    final int index = json.indexOf("alex");
+    bytes[index] = 'A';
+    assertEquals(Arrays.asList("Alex", "seva"), lazy.recipients.get());
+    bytes[index] = 'a';
+    assertEquals(Arrays.asList("Alex", "seva"), lazy.recipients.get());
+  }
+
+  @Test
+  public void testInvalid() throws DecodeException, IOException {
+    final byte[] bytes = json.replace("1A", "1a").getBytes(StandardCharsets.UTF_8);
+    try {
+      JSObject.parse(api.Message.class, bytes);
+      fail("Expected DecodeException");
+    }
+    catch (final DecodeException e) {
+      assertTrue(e.getMessage(), e.getMessage().startsWith("message.attachment.data.a does not match pattern"));
+    }
+
+    final api.Message lazy = JSObject.parseLazy(api.Message.class, bytes);
+    assertEquals("Test \"subject\"", lazy.subject.get());
+    final api.Message.Attachment.Data data = lazy.attachment.get().get(0).data.get();
+    assertEquals("1B", data.b.get());
+    try {
+      data.a.get();
+      fail("Expected IllegalStateException");
+    }
+    catch (final IllegalStateException e) {
+      assertTrue(e.getCause() instanceof DecodeException);
+      assertTrue(e.getMessage(), e.getMessage().startsWith("message.attachment.data.a does not match pattern"));
+    }
+
+    try {
+      lazy.validate();
+      fail("Expected DecodeException");
+    }
+    catch (final DecodeException e) {
+      assertTrue(e.getMessage(), e.getMessage().startsWith("message.attachment.data.a does not match pattern"));
+    }
+  }
+
+  @Test
+  public void testOptions() throws DecodeException, IOException {
+    // The options apply to the values that are deferred, and to a range of the array
+    final byte[] bytes = ("[]" + json.replace("1A", "1a") + "[]").getBytes(StandardCharsets.UTF_8);
+    final DecodeOptions options = DecodeOptions.DEFAULT.withValidation(DecodeOptions.Validation.NONE);
+    final api.Message lazy = JSObject.parseLazy(api.Message.class, bytes, 2, bytes.length - 4, options, new JsonContext());
+    assertEquals("1a", lazy.attachment.get().get(0).data.get().a.get());
+    assertEquals(JSObject.parse(api.Message.class, bytes, 2, bytes.length - 4, options), lazy);
+
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length - 4);
+    buffer.put(bytes, 2, bytes.length - 4).flip();
+    assertEquals(lazy, JSObject.parse(api.Message.class, buffer, options));
+  }
+
+  @Test
+  public void testStructure() throws IOException {
+    // The structure of the object is checked eagerly, even where its values are deferred
+    final String[] invalid = {json.replace("\"important\": true", "\"important\": 1"), json.replace("\"url\"", "\"unknown\"")};
+    for (final String string : invalid) {
+      try {
+        JSObject.parseLazy(api.Message.class, string.getBytes(StandardCharsets.UTF_8));
+        fail("Expected DecodeException: " + string);
+      }
+      catch (final DecodeException e) {
+      }
+    }
+  }
+
+  @Test
+  public void testTruncated() throws DecodeException {
+    try {
+      JSObject.parseLazy(api.Message.class, json.substring(0, json.length() - 1).getBytes(StandardCharsets.UTF_8));
+      fail("Expected IOException");
+    }
+    catch (final IOException e) {
+      assertEquals("EOS", e.getMessage());
+    }
+  }
+}
\ No newline at end of file
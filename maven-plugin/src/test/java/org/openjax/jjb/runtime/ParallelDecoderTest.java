@@ -0,0 +1,97 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import jjb.api;
+
+public class ParallelDecoderTest {
+  private static final DecodeOptions options = DecodeOptions.DEFAULT.withParallelThreshold(0);
+  private static final ForkJoinPool pool = new ForkJoinPool(4);
+
+  private static byte[] links(final int count, final String last) {
+    final StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < count; ++i) {
+      if (i > 0)
+        builder.append(i % 3 == 0 ? ",\n " : ", ");
+
+      if (i % 7 == 0)
+        builder.append("null");
+      else
+        builder.append("{\"href\": \"http://www.openjax.org/").append(i).append("\", \"rel\": \"a,]b}").append(i).append("\\\"]\", \"method\": \"GET\"").append(i % 2 == 0 ? ", \"encType\": \"[,\"" : "").append('}');
+    }
+
+    return builder.append(last).append(']').toString().getBytes(StandardCharsets.UTF_8);
+  }
+
+  @Test
+  public void testParallel() throws DecodeException, IOException {
+    final byte[] bytes = links(10000, "");
+    final JSArray<api.Links> sequential = JSObject.parse(api.Links.class, bytes, options);
+    assertNotNull(new ParallelDecoder(api.Links.class, bytes, options).decode(pool));
+    final JSArray<api.Links> parallel = JSObject.parseParallel(api.Links.class, bytes, options, pool);
+    assertEquals(10000, parallel.size());
+    assertEquals(sequential, parallel);
+    assertEquals(sequential.toString(), parallel.toString());
+    assertEquals("a,]b}1\"]", parallel.get(1).rel.get());
+    assertNull(parallel.get(7));
+  }
+
+  @Test
+  public void testSmall() throws DecodeException, IOException {
+    final byte[] bytes = links(3, "");
+    assertEquals(JSObject.parse(api.Links.class, bytes).toString(), JSObject.parseParallel(api.Links.class, bytes, options, pool).toString());
+    assertEquals(0, JSObject.<JSArray<?>>parseParallel(api.Links.class, "[ ]".getBytes(StandardCharsets.UTF_8), options, pool).size());
+  }
+
+  private static void assertError(final byte[] bytes) throws IOException {
+    DecodeException expected = null;
+    try {
+      JSObject.parse(api.Links.class, bytes, options);
+      fail("Expected DecodeException");
+    }
+    catch (final DecodeException e) {
+      expected = e;
+    }
+
+    try {
+      JSObject.parseParallel(api.Links.class, bytes, options, pool);
+      fail("Expected DecodeException");
+    }
+    catch (final DecodeException e) {
+      assertNull(new ParallelDecoder(api.Links.class, bytes, options).decode(pool));
+      assertEquals(expected.getMessage(), e.getMessage());
+      assertEquals(expected.getPosition(), e.getPosition());
+      assertTrue(e.getPosition() > bytes.length - 64);
+    }
+  }
+
+  @Test
+  public void testLateError() throws IOException {
+    assertError(links(10000, ", {\"href\": \"invalid\", \"rel\": \"a\", \"method\": \"GET\"}"));
+    assertError(links(10000, ", {\"href\": \"http://www.openjax.org/\", \"rel\": \"a\", \"method\" \"GET\"}"));
+    assertError(links(10000, ", {\"href\": \"http://www.openjax.org/\", \"rel\": \"a\"}"));
+    assertError(links(10000, ", {\"href\": \"http://www.openjax.org/\", \"rel\": \"a\", \"method\": \"GET\"} {}"));
+  }
+}
\ No newline at end of file
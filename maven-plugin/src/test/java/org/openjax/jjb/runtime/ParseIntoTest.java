@@ -0,0 +1,119 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import org.junit.Test;
+
+import jjb.api;
+
+public class ParseIntoTest {
+  private static final String first = "{\"subject\": \"first\", \"url\": \"http://www.openjax.org/\", \"important\": true, \"requiredArray\": [true, false], \"notRequired\": true, \"notRequiredArray\": [true], \"recipients\": [\"alex\"], \"emptyarray\": [], \"attachment\": [{\"filename\": \"data1.txt\", \"data\": {\"a\": \"1A\", \"b\": \"1B\", \"c\": \"1C\"}, \"serial\": 1}], \"signature\": {\"xmldsig\": \"x1\", \"pub_rsa\": \"p1\"}}";
+  private static final String second = "{\"subject\": \"second\", \"url\": \"http://www.openjax.org/\", \"important\": false, \"requiredArray\": [false], \"recipients\": [\"seva\", \"alex\"], \"emptyarray\": [], \"attachment\": [{\"filename\": \"data2.txt\", \"data\": {\"a\": \"2A\", \"b\": \"2B\", \"c\": \"2C\"}, \"serial\": 2}, {\"filename\": \"data3.txt\", \"data\": null, \"serial\": 3}], \"signature\": {\"xmldsig\": \"x2\", \"pub_rsa\": \"p2\"}}";
+
+  private static api.Message parseInto(final String json, final api.Message target, final int mode) throws DecodeException, IOException {
+    return mode == 0 ? JSObject.parseInto(new StringReader(json), target) : mode == 1 ? JSObject.parseInto(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), target) : JSObject.parseInto(json.getBytes(StandardCharsets.UTF_8), target);
+  }
+
+  @Test
+  public void testReuse() throws DecodeException, IOException {
+    for (int mode = 0; mode < 3; ++mode) {
+      final api.Message message = new api.Message();
+      assertSame(message, parseInto(first, message, mode));
+      final List<Boolean> requiredArray = message.requiredArray.get();
+      final api.Message.Attachment attachment = message.attachment.get().get(0);
+      final api.Message.Attachment.Data data = attachment.data.get();
+      final api.Signature signature = message.signature.get();
+
+      assertSame(message, parseInto(second, message, mode));
+      assertSame(requiredArray, message.requiredArray.get());
+      assertSame(attachment, message.attachment.get().get(0));
+      assertSame(data, attachment.data.get());
+      assertSame(signature, message.signature.get());
+
+      assertEquals("second", message.subject.get());
+      assertEquals(false, message.important.get());
+      assertEquals(1, requiredArray.size());
+      assertEquals(false, requiredArray.get(0));
+      assertEquals("data2.txt", attachment.filename.get());
+      assertEquals("2C", data.c.get());
+      assertEquals("x2", signature.xmldsig.get());
+      assertEquals("p2", signature.pubRsa.get());
+      assertNull(message.attachment.get().get(1).data.get());
+
+      // The properties absent from the second document are cleared
+      assertFalse(message.notRequired.present());
+      assertFalse(message.notRequiredArray.present());
+      assertEquals(JSObject.parse(api.Message.class, new StringReader(second)), message);
+      assertEquals(JSObject.parse(api.Message.class, new StringReader(second)).toString(), message.toString());
+    }
+  }
+
+  @Test
+  public void testInvalid() throws DecodeException, IOException {
+    for (int mode = 0; mode < 3; ++mode) {
+      final api.Message message = parseInto(first, new api.Message(), mode);
+      try {
+        parseInto(second.replace("2A", "2a"), message, mode);
+        fail("Expected DecodeException");
+      }
+      catch (final DecodeException e) {
+        assertTrue(e.getMessage(), e.getMessage().startsWith("message.attachment.data.a does not match pattern"));
+      }
+
+      // The properties of the failed decode are not left in the target
+      assertFalse(message.subject.present());
+      assertFalse(message.requiredArray.present());
+      assertFalse(message.attachment.present());
+
+      // No state of the first or failed decode remains
+      parseInto(second, message, mode);
+      assertEquals(JSObject.parse(api.Message.class, new StringReader(second)).toString(), message.toString());
+    }
+  }
+
+  @Test
+  public void testReset() throws DecodeException, IOException {
+    final api.Message message = JSObject.parse(api.Message.class, new StringReader(first));
+    final api.Signature signature = message.signature.get();
+    message.reset();
+    assertFalse(message.subject.present());
+    assertFalse(message.requiredArray.present());
+    assertFalse(message.notRequired.present());
+    assertFalse(message.attachment.present());
+    assertNull(message.signature.get());
+    try {
+      message.toString();
+      fail("Expected EncodeException");
+    }
+    catch (final EncodeException e) {
+      assertTrue(e.getMessage(), e.getMessage().startsWith("message.subject is required"));
+    }
+
+    // The generated reset() of a subclass resets the inherited properties
+    signature.reset();
+    assertFalse(signature.pubRsa.present());
+    assertFalse(signature.xmldsig.present());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import jjb.primitive;
+
+public class PrimitiveTest {
+  private static primitive.Numbers parse(final String json, final DecodeOptions.Validation validation) throws DecodeException, IOException {
+    return JSObject.parse(primitive.Numbers.class, new StringReader(json), DecodeOptions.DEFAULT.withValidation(validation));
+  }
+
+  private static void assertError(final String expected, final String json, final DecodeOptions.Validation validation) throws IOException {
+    try {
+      parse(json, validation);
+      fail("Expected DecodeException");
+    }
+    catch (final DecodeException e) {
+      assertTrue(e.getMessage(), e.getMessage().startsWith(expected));
+    }
+  }
+
+  private static String numbers(final String int32, final String int64, final String float64) {
+    return "{\"int32\": " + int32 + ", \"int64\": " + int64 + ", \"float64\": " + float64 + "}";
+  }
+
+  @Test
+  public void testRoundTrip() throws DecodeException, IOException {
+    final primitive.Numbers numbers = new primitive.Numbers();
+    numbers.int32.set(Integer.MIN_VALUE);
+    numbers.int64.set(Long.MAX_VALUE);
+    numbers.float64.set(-0.125);
+    numbers.percent.set(100);
+    numbers.int32Array.set(Arrays.asList(Long.valueOf(Integer.MAX_VALUE), null, 0L));
+    numbers.float64Array.set(Arrays.asList(1.5, 1e-7));
+
+    final String encoded = numbers.toString();
+    for (final DecodeOptions.Validation validation : DecodeOptions.Validation.values()) {
+      final primitive.Numbers decoded = parse(encoded, validation);
+      assertEquals(numbers, decoded);
+      assertEquals(encoded, decoded.toString());
+      assertEquals(Integer.MIN_VALUE, decoded.int32.getAsLong());
+      assertEquals(Long.MAX_VALUE, decoded.int64.getAsLong());
+      assertEquals(-0.125, decoded.float64.getAsDouble(), 0);
+      assertEquals(Arrays.asList(Long.valueOf(Integer.MAX_VALUE), null, 0L), decoded.int32Array.get());
+      assertEquals(Arrays.asList(1.5, 1e-7), decoded.float64Array.get());
+    }
+
+    final primitive.Numbers nulls = parse(numbers("null", "null", "null"), DecodeOptions.Validation.FULL);
+    assertTrue(nulls.int32.present());
+    assertNull(nulls.int32.get());
+    assertNull(nulls.int64.get());
+    assertNull(nulls.float64.get());
+    assertEquals("{\"int32\":null,\"int64\":null,\"float64\":null}", nulls.toExternalForm());
+  }
+
+  @Test
+  public void testInt32() throws DecodeException, IOException {
+    for (final DecodeOptions.Validation validation : DecodeOptions.Validation.values()) {
+      assertEquals(Integer.MAX_VALUE, parse(numbers("2147483647", "0", "0"), validation).int32.getAsLong());
+      assertEquals(Integer.MIN_VALUE, parse(numbers("-2147483648", "0", "0"), validation).int32.getAsLong());
+
+      // The range of int32 is checked irrespective of the validation level
+      assertError("numbers.int32 is out of range of \"int32\": \"2147483648\"", numbers("2147483648", "0", "0"), validation);
+      assertError("numbers.int32 is out of range of \"int32\": \"-2147483649\"", numbers("-2147483649", "0", "0"), validation);
+      assertError("is out of range of \"int64\": \"9223372036854775808\"", numbers("0", "9223372036854775808", "0"), validation);
+      assertEquals(Arrays.asList(Long.valueOf(Integer.MIN_VALUE), Long.valueOf(Integer.MAX_VALUE)), parse("{\"int32\": 0, \"int64\": 0, \"float64\": 0, \"int32Array\": [-2147483648, 2147483647]}", validation).int32Array.get());
+      assertError("is out of range of \"int32\": \"9999999999\"", "{\"int32\": 0, \"int64\": 0, \"float64\": 0, \"int32Array\": [1, 9999999999]}", validation);
+      assertError("is out of range of \"int32\": \"-2147483649\"", "{\"int32\": 0, \"int64\": 0, \"float64\": 0, \"int32Array\": [-2147483649]}", validation);
+      assertError("is not an \"integer\" number: \"1.5\"", numbers("1.5", "0", "0"), validation);
+    }
+  }
+
+  @Test
+  public void testMalformedFloat64() throws IOException {
+    for (final DecodeOptions.Validation validation : DecodeOptions.Validation.values()) {
+      for (final String number : new String[] {"-", "1e", "1e+", "-1E-", "1.2.3"}) {
+        assertError("numbers.float64 is not a number: \"" + number + "\"", numbers("0", "0", number), validation);
+        assertError("is not a number: \"" + number + "\"", "{\"int32\": 0, \"int64\": 0, \"float64\": 0, \"float64Array\": [1.5, " + number + "]}", validation);
+      }
+    }
+  }
+
+  @Test
+  public void testValidation() throws DecodeException, IOException {
+    final String percent = "{\"int32\": 0, \"int64\": 0, \"float64\": 0, \"percent\": 101}";
+    assertError("numbers.percent max inclusive bound \"100\" violated", percent, DecodeOptions.Validation.FULL);
+    assertEquals(101, parse(percent, DecodeOptions.Validation.NONE).percent.getAsLong());
+  }
+}
\ No newline at end of file
@@ -18,23 +18,83 @@ package org.openjax.jjb.rs;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
 
 import javax.ws.rs.BadRequestException;
 import javax.ws.rs.Consumes;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Context;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyReader;
 import javax.ws.rs.ext.Provider;
 
 import org.openjax.jjb.runtime.DecodeException;
+import org.openjax.jjb.runtime.DecodeOptions;
 import org.openjax.jjb.runtime.JSObject;
 
+/**
+ * {@link MessageBodyReader} of {@link JSObject}s. The options of the decode
+ * are either provided to the constructor, or else read from the properties
+ * of the configuration of the application: {@value #VALIDATION_PROPERTY} as
+ * the name of a {@link DecodeOptions.Validation}, and the limits of
+ * {@link DecodeOptions} as numbers.
+ */
 @Provider
 @Consumes(MediaType.APPLICATION_JSON)
 public class JSObjectReader implements MessageBodyReader<JSObject> {
+  public static final String VALIDATION_PROPERTY = "org.openjax.jjb.rs.validation";
+  public static final String MAX_DEPTH_PROPERTY = "org.openjax.jjb.rs.maxDepth";
+  public static final String MAX_ARRAY_LENGTH_PROPERTY = "org.openjax.jjb.rs.maxArrayLength";
+  public static final String MAX_STRING_LENGTH_PROPERTY = "org.openjax.jjb.rs.maxStringLength";
+  public static final String MAX_NUMBER_LENGTH_PROPERTY = "org.openjax.jjb.rs.maxNumberLength";
+  public static final String MAX_INPUT_LENGTH_PROPERTY = "org.openjax.jjb.rs.maxInputLength";
+
+  @Context
+  private Configuration configuration;
+  private DecodeOptions options;
+
+  public JSObjectReader(final DecodeOptions options) {
+    this.options = options;
+  }
+
+  public JSObjectReader() {
+  }
+
+  private Object getProperty(final String name) {
+    return configuration == null ? null : configuration.getProperty(name);
+  }
+
+  private long getLimit(final String name, final long defaultValue) {
+    final Object value = getProperty(name);
+    return value == null ? defaultValue : value instanceof Number ? ((Number)value).longValue() : Long.parseLong(value.toString().trim());
+  }
+
+  private int getIntLimit(final String name, final int defaultValue) {
+    final long value = getLimit(name, defaultValue);
+    if ((int)value != value)
+      throw new IllegalArgumentException(name + " (" + value + ") is out of the range of int");
+
+    return (int)value;
+  }
+
+  private DecodeOptions getOptions() {
+    if (options != null)
+      return options;
+
+    DecodeOptions options = DecodeOptions.DEFAULT;
+    final Object validation = getProperty(VALIDATION_PROPERTY);
+    if (validation != null)
+      options = options.withValidation(validation instanceof DecodeOptions.Validation ? (DecodeOptions.Validation)validation : DecodeOptions.Validation.valueOf(validation.toString().trim().toUpperCase()));
+
+    options = options.withMaxDepth(getIntLimit(MAX_DEPTH_PROPERTY, options.getMaxDepth()));
+    options = options.withMaxArrayLength(getIntLimit(MAX_ARRAY_LENGTH_PROPERTY, options.getMaxArrayLength()));
+    options = options.withMaxStringLength(getIntLimit(MAX_STRING_LENGTH_PROPERTY, options.getMaxStringLength()));
+    options = options.withMaxNumberLength(getIntLimit(MAX_NUMBER_LENGTH_PROPERTY, options.getMaxNumberLength()));
+    return this.options = options.withMaxInputLength(getLimit(MAX_INPUT_LENGTH_PROPERTY, options.getMaxInputLength()));
+  }
+
   @Override
   public boolean isReadable(final Class<?> rawType, final Type genericType, final Annotation[] annotations, final MediaType mediaType) {
     return JSObject.class.isAssignableFrom(rawType);
@@ -43,7 +103,7 @@ public class JSObjectReader implements MessageBodyReader<JSObject> {
   @Override
   public JSObject readFrom(final Class<JSObject> rawType, final Type genericType, final Annotation[] annotations, final MediaType mediaType, final MultivaluedMap<String,String> httpHeaders, final InputStream entityStream) throws IOException {
     try {
-      return JSObject.parse(rawType, new InputStreamReader(entityStream));
+      return JSObject.parse(rawType, entityStream, getOptions());
     }
     catch (final DecodeException e) {
       throw new BadRequestException(e);
@@ -17,10 +17,13 @@
 package org.openjax.jjb.runtime;
 
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
 import org.openjax.standard.util.FastCollections;
+import org.openjax.jjb.runtime.decoder.Decoder;
+import org.openjax.jjb.runtime.validator.NumberValidator;
 import org.openjax.jjb.runtime.validator.Validator;
 
 public class Binding<T> {
@@ -43,13 +46,15 @@ public class Binding<T> {
   public final boolean array;
   public final Required required;
   public final boolean notNull;
+  public final boolean int32;
   public final boolean urlDecode;
   public final boolean urlEncode;
+  public final boolean dedup;
   public final Validator<?>[] validators;
+  final Decoder<?> decoder;
 
-  // string
   @SafeVarargs
-  public Binding(final String name, final Field property, final Class<?> type, final boolean isAbstract, final boolean array, final Required required, final boolean notNull, final boolean urlDecode, final boolean urlEncode, final Validator<?> ... validators) {
+  private Binding(final String name, final Field property, final Class<?> type, final boolean isAbstract, final boolean array, final Required required, final boolean notNull, final boolean int32, final boolean urlDecode, final boolean urlEncode, final boolean dedup, final Validator<?> ... validators) {
     this.name = name;
     this.property = property;
     if (this.property != null)
@@ -59,15 +64,41 @@ public class Binding<T> {
     this.array = array;
     this.required = required;
     this.notNull = notNull;
+    this.int32 = int32;
     this.urlDecode = urlDecode;
     this.urlEncode = urlEncode;
+    this.dedup = dedup;
     this.validators = validators;
+    this.decoder = JSObjectBase.getDecoder(type);
+  }
+
+  // string
+  @SafeVarargs
+  public Binding(final String name, final Field property, final Class<?> type, final boolean isAbstract, final boolean array, final Required required, final boolean notNull, final boolean urlDecode, final boolean urlEncode, final boolean dedup, final Validator<?> ... validators) {
+    this(name, property, type, isAbstract, array, required, notNull, false, urlDecode, urlEncode, dedup, validators);
+  }
+
+  // string
+  @SafeVarargs
+  public Binding(final String name, final Field property, final Class<?> type, final boolean isAbstract, final boolean array, final Required required, final boolean notNull, final boolean urlDecode, final boolean urlEncode, final Validator<?> ... validators) {
+    this(name, property, type, isAbstract, array, required, notNull, false, urlDecode, urlEncode, false, validators);
+  }
+
+  // number
+  /**
+   * @param int32 Whether the value, or each element of an array value, is of
+   *          the "int32" form, the range of which is checked by every decode,
+   *          irrespective of the validation level.
+   */
+  @SafeVarargs
+  public Binding(final String name, final Field property, final Class<?> type, final boolean isAbstract, final boolean array, final Required required, final boolean notNull, final boolean int32, final Validator<?> ... validators) {
+    this(name, property, type, isAbstract, array, required, notNull, int32, false, false, false, validators);
   }
 
   // [other]
   @SafeVarargs
   public Binding(final String name, final Field property, final Class<?> type, final boolean isAbstract, final boolean array, final Required required, final boolean notNull, final Validator<?> ... validators) {
-    this(name, property, type, isAbstract, array, required, notNull, false, false, validators);
+    this(name, property, type, isAbstract, array, required, notNull, false, false, false, false, validators);
   }
 
   protected boolean isAssignable(final T value) {
@@ -75,8 +106,26 @@ public class Binding<T> {
     return value == null || (array ? value instanceof List && ((type = FastCollections.getComponentType((List<?>)value)) == null || type.isAssignableFrom(type)) : this.type.isAssignableFrom(type = value.getClass()));
   }
 
+  private String[] validate(final PrimitiveArray<?> array) {
+    List<String> errors = null;
+    for (final Validator<?> validator : validators) {
+      if (validator instanceof NumberValidator) {
+        for (int i = 0, size = array.size(); i < size; ++i) {
+          final String error = array.validate(i, (NumberValidator)validator);
+          if (error != null)
+            (errors == null ? errors = new ArrayList<>() : errors).add(error);
+        }
+      }
+    }
+
+    return errors == null ? null : errors.toArray(new String[errors.size()]);
+  }
+
   @SuppressWarnings("unchecked")
   protected String validate(final Property<?> property, final Object value) {
+    if (value instanceof PrimitiveArray)
+      return errorsToString(property, validate((PrimitiveArray<?>)value));
+
     return errorsToString(property, value instanceof Collection ? Validator.validate((Validator<T>[])validators, (Collection<T>)value) : Validator.validate((Validator<T>[])validators, (T)value));
   }
 }
\ No newline at end of file
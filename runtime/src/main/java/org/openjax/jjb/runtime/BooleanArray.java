@@ -0,0 +1,161 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+import java.util.BitSet;
+
+import org.openjax.jjb.runtime.validator.NumberValidator;
+
+/**
+ * {@link PrimitiveArray} backed by a {@link BitSet}.
+ */
+public class BooleanArray extends PrimitiveArray<Boolean> {
+  private static final long serialVersionUID = 2870349731474409623L;
+
+  private BitSet bits;
+  private int size;
+
+  public BooleanArray() {
+    this.bits = new BitSet();
+  }
+
+  public BooleanArray(final boolean ... values) {
+    this.bits = new BitSet(values.length);
+    for (int i = 0; i < values.length; ++i)
+      bits.set(i, values[i]);
+
+    this.size = values.length;
+  }
+
+  public boolean getBoolean(final int index) {
+    checkIndex(index, size);
+    return bits.get(index);
+  }
+
+  public boolean setBoolean(final int index, final boolean value) {
+    checkIndex(index, size);
+    final boolean previous = bits.get(index);
+    bits.set(index, value);
+    return previous;
+  }
+
+  public void addBoolean(final boolean value) {
+    bits.set(size++, value);
+  }
+
+  public void addBoolean(final int index, final boolean value) {
+    if (index < 0 || index > size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+    for (int i = size; i > index; --i)
+      bits.set(i, bits.get(i - 1));
+
+    bits.set(index, value);
+    ++size;
+  }
+
+  public boolean removeBoolean(final int index) {
+    checkIndex(index, size);
+    final boolean previous = bits.get(index);
+    for (int i = index + 1; i < size; ++i)
+      bits.set(i - 1, bits.get(i));
+
+    bits.clear(--size);
+    return previous;
+  }
+
+  /**
+   * @return A new {@code boolean[]} of the elements of this array.
+   */
+  public boolean[] toBooleanArray() {
+    final boolean[] values = new boolean[size];
+    for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1))
+      values[i] = true;
+
+    return values;
+  }
+
+  @Override
+  public Boolean get(final int index) {
+    return getBoolean(index);
+  }
+
+  @Override
+  public Boolean set(final int index, final Boolean element) {
+    return setBoolean(index, element);
+  }
+
+  @Override
+  public void add(final int index, final Boolean element) {
+    addBoolean(index, element);
+  }
+
+  @Override
+  public boolean add(final Boolean e) {
+    addBoolean(e);
+    return true;
+  }
+
+  @Override
+  public Boolean remove(final int index) {
+    return removeBoolean(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    bits.clear();
+    size = 0;
+  }
+
+  @Override
+  boolean addToken(final char ch, final JsonTokenizer tokenizer) {
+    if (ch == 't' ? !tokenizer.matches("true") : ch != 'f' || !tokenizer.matches("false"))
+      return false;
+
+    addBoolean(ch == 't');
+    return true;
+  }
+
+  @Override
+  void writeTo(final JsonWriter out, final String delim) throws IOException {
+    for (int i = 0; i < size; ++i) {
+      if (i > 0)
+        out.write(delim);
+
+      out.write(String.valueOf(bits.get(i)));
+    }
+  }
+
+  @Override
+  String validate(final int index, final NumberValidator validator) {
+    return null;
+  }
+
+  @Override
+  public BooleanArray clone() {
+    final BooleanArray clone = new BooleanArray();
+    clone.bits = (BitSet)bits.clone();
+    clone.size = size;
+    return clone;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,188 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * {@link JsonTokenizer} of the UTF-8 bytes remaining in a {@link ByteBuffer},
+ * which are read in place with absolute gets. This supports direct and
+ * memory-mapped buffers, for which there is no backing array. The position of
+ * the buffer is not modified. Bytes are only copied out of the buffer for the
+ * contents of strings, when {@link #getString()} is called.
+ */
+public class ByteBufferJsonTokenizer extends JsonTokenizer {
+  private final ByteBuffer buffer;
+  private final int limit;
+  private int pos;
+  private byte[] scratch;
+  private InputHistory history;
+
+  public ByteBufferJsonTokenizer(final ByteBuffer buffer) {
+    this.buffer = buffer.duplicate();
+    this.pos = buffer.position();
+    this.start = pos;
+    this.limit = buffer.limit();
+    this.offset = -pos;
+  }
+
+  @Override
+  boolean isEnd() {
+    while (pos < limit && isWhitespace(buffer.get(pos)))
+      ++pos;
+
+    return pos == limit;
+  }
+
+  @Override
+  public char nextToken() throws DecodeException, IOException {
+    byte ch;
+    do {
+      if (pos == limit)
+        throw new IOException("EOS");
+
+      ch = buffer.get(pos++);
+    }
+    while (isWhitespace(ch));
+
+    start = pos - 1;
+    escaped = false;
+    if (ch == '"') {
+      while (true) {
+        if (pos == limit)
+          throw new IOException("EOS");
+
+        final byte b = buffer.get(pos++);
+        if (b == '"')
+          break;
+
+        if (b == '\\') {
+          if (pos == limit)
+            throw new IOException("EOS");
+
+          escaped = true;
+          ++pos;
+        }
+      }
+    }
+    else if ('0' <= ch && ch <= '9' || ch == '-') {
+      while (pos < limit && isNumber(buffer.get(pos)))
+        ++pos;
+    }
+    else if (isLiteral(ch)) {
+      while (pos < limit && isLiteral(buffer.get(pos)))
+        ++pos;
+    }
+
+    end = pos;
+    final char token = (char)(ch & 0xFF);
+    checkToken(token);
+    return token;
+  }
+
+  @Override
+  public void skipValue(final char ch) throws DecodeException, IOException {
+    if (ch != '[' && ch != '{')
+      return;
+
+    for (int depth = 1;;) {
+      if (pos == limit)
+        throw new IOException("EOS");
+
+      final byte next = buffer.get(pos++);
+      if (next == '"') {
+        while (true) {
+          if (pos == limit)
+            throw new IOException("EOS");
+
+          final byte b = buffer.get(pos++);
+          if (b == '"')
+            break;
+
+          if (b == '\\') {
+            if (pos == limit)
+              throw new IOException("EOS");
+
+            ++pos;
+          }
+        }
+      }
+      else if (next == '[' || next == '{') {
+        ++depth;
+      }
+      else if ((next == ']' || next == '}') && --depth == 0) {
+        start = pos - 1;
+        end = pos;
+        escaped = false;
+        return;
+      }
+    }
+  }
+
+  @Override
+  void setOptions(final DecodeOptions options) throws DecodeException, IOException {
+    super.setOptions(options);
+    checkInput((long)limit + offset);
+  }
+
+  @Override
+  public char charAt(final int index) {
+    return (char)(buffer.get(start + index) & 0xFF);
+  }
+
+  private byte[] copy(final int from, final int to) {
+    if (scratch == null || scratch.length < to - from)
+      scratch = new byte[Math.max(to - from, 64)];
+
+    buffer.limit(to).position(from);
+    buffer.get(scratch, 0, to - from);
+    buffer.limit(limit);
+    return scratch;
+  }
+
+  @Override
+  public String getText() {
+    return new String(copy(start, end), 0, end - start, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String getString() throws DecodeException, IOException {
+    final int from = start + 1;
+    final int to = end - 1;
+    return Utf8JsonTokenizer.decode(this, copy(from, to), 0, to - from, escaped);
+  }
+
+  @Override
+  InputHistory getHistory() {
+    // Only a window around the current token is recorded, as for a stream
+    if (history == null)
+      history = InputHistory.window(buffer, -offset, start, limit);
+
+    return history;
+  }
+
+  /**
+   * @return {@code null}, as the buffer is not copied for the context of
+   *         errors.
+   */
+  @Override
+  public String readFully() {
+    return null;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,264 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * {@link JsonTokenizer} that reads the underlying {@link JsonReader} in bulk
+ * into a {@code char[]} buffer.
+ */
+public class CharJsonTokenizer extends JsonTokenizer {
+  private final JsonReader reader;
+  private char[] buffer;
+  private int limit;
+  private int pos;
+
+  public CharJsonTokenizer(final JsonReader reader) {
+    this(reader, DEFAULT_BUFFER_SIZE);
+  }
+
+  public CharJsonTokenizer(final JsonReader reader, final int bufferSize) {
+    this.reader = reader;
+    this.buffer = new char[bufferSize];
+    this.offset = reader.getPosition();
+  }
+
+  /**
+   * Creates a tokenizer, the buffers of which are those of the specified
+   * context.
+   */
+  CharJsonTokenizer(final JsonReader reader, final JsonContext context) {
+    this.reader = reader;
+    this.buffer = context.chars();
+    this.offset = reader.getPosition();
+    this.context = context;
+  }
+
+  /**
+   * Reads more chars into the buffer. The chars of the current token are
+   * shifted to the head of the buffer, and the buffer is grown if the token
+   * alone occupies all of it.
+   *
+   * @return {@code false} if the end of the stream has been reached.
+   * @throws DecodeException If the input exceeds a limit of the options.
+   * @throws IOException If an I/O error has occurred.
+   */
+  private boolean fill() throws DecodeException, IOException {
+    if (start > 0) {
+      System.arraycopy(buffer, start, buffer, 0, limit - start);
+      offset += start;
+      limit -= start;
+      pos -= start;
+      start = 0;
+    }
+    else if (limit == buffer.length) {
+      checkGrowth(buffer[0], limit);
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+
+    final int read = reader.read(buffer, limit, buffer.length - limit);
+    if (read == -1)
+      return false;
+
+    limit += read;
+    checkInput((long)offset + limit);
+    return true;
+  }
+
+  @Override
+  boolean isEnd() throws DecodeException, IOException {
+    while (true) {
+      if (pos == limit) {
+        start = pos;
+        if (!fill())
+          return true;
+      }
+
+      if (!isWhitespace(buffer[pos]))
+        return false;
+
+      ++pos;
+    }
+  }
+
+  @Override
+  public char nextToken() throws DecodeException, IOException {
+    char ch;
+    do {
+      if (pos == limit) {
+        start = pos;
+        if (!fill())
+          throw new IOException("EOS");
+      }
+
+      ch = buffer[pos++];
+    }
+    while (isWhitespace(ch));
+
+    start = pos - 1;
+    escaped = false;
+    if (ch == '"')
+      scanString();
+    else if ('0' <= ch && ch <= '9' || ch == '-')
+      while ((pos < limit || fill()) && isNumber(buffer[pos]))
+        ++pos;
+    else if (isLiteral(ch))
+      while ((pos < limit || fill()) && isLiteral(buffer[pos]))
+        ++pos;
+
+    end = pos;
+    checkToken(ch);
+    return ch;
+  }
+
+  @Override
+  public void skipValue(final char ch) throws DecodeException, IOException {
+    if (ch != '[' && ch != '{')
+      return;
+
+    for (int depth = 1;;) {
+      if (pos == limit) {
+        // Nothing before pos is needed, so the buffer is not grown
+        start = pos;
+        if (!fill())
+          throw new IOException("EOS");
+      }
+
+      final char next = buffer[pos++];
+      if (next == '"') {
+        // Scanned without scanString(), so that the buffer is not grown
+        while (true) {
+          if (pos == limit) {
+            start = pos;
+            if (!fill())
+              throw new IOException("EOS");
+          }
+
+          final char b = buffer[pos++];
+          if (b == '"')
+            break;
+
+          if (b == '\\') {
+            if (pos == limit) {
+              start = pos;
+              if (!fill())
+                throw new IOException("EOS");
+            }
+
+            ++pos;
+          }
+        }
+      }
+      else if (next == '[' || next == '{') {
+        ++depth;
+      }
+      else if ((next == ']' || next == '}') && --depth == 0) {
+        start = pos - 1;
+        end = pos;
+        escaped = false;
+        return;
+      }
+    }
+  }
+
+  private void scanString() throws DecodeException, IOException {
+    while (true) {
+      if (pos == limit && !fill())
+        throw new IOException("EOS");
+
+      final char ch = buffer[pos++];
+      if (ch == '"')
+        return;
+
+      if (ch == '\\') {
+        escaped = true;
+        if (pos == limit && !fill())
+          throw new IOException("EOS");
+
+        ++pos;
+      }
+    }
+  }
+
+  public char[] getBuffer() {
+    return buffer;
+  }
+
+  @Override
+  public char charAt(final int index) {
+    return buffer[start + index];
+  }
+
+  @Override
+  public String getText() {
+    return new String(buffer, start, end - start);
+  }
+
+  private char hex(final int index) throws DecodeException, IOException {
+    int value = 0;
+    for (int i = index; i < index + 4; ++i) {
+      final int digit = buffer[i] < 128 ? Character.digit(buffer[i], 16) : -1;
+      if (digit == -1)
+        throw new DecodeException("Illegal unicode escape sequence: \"\\u" + new String(buffer, index, 4) + "\"", this);
+
+      value = value << 4 | digit;
+    }
+
+    return (char)value;
+  }
+
+  @Override
+  public String getString() throws DecodeException, IOException {
+    final int from = start + 1;
+    final int to = end - 1;
+    if (!escaped)
+      return new String(buffer, from, to - from);
+
+    final char[] chars = scratch(to - from);
+    int length = 0;
+    for (int i = from; i < to; ++i) {
+      final char ch = buffer[i];
+      if (ch != '\\') {
+        chars[length++] = ch;
+      }
+      else if (buffer[++i] != 'u') {
+        chars[length++] = unescape(buffer[i]);
+      }
+      else {
+        if (i + 4 >= to)
+          throw new DecodeException("Unterminated escape sequence", this);
+
+        chars[length++] = hex(i + 1);
+        i += 4;
+      }
+    }
+
+    return new String(chars, 0, length);
+  }
+
+  @Override
+  InputHistory getHistory() {
+    return reader.history;
+  }
+
+  @Override
+  public String readFully() throws IOException {
+    return reader.readFully();
+  }
+}
\ No newline at end of file
@@ -21,25 +21,70 @@ import java.io.IOException;
 public class DecodeException extends Exception {
   private static final long serialVersionUID = -1234230677110958751L;
 
+  private static String message(final String message, final JsonTokenizer json) throws IOException {
+    final StringBuilder builder = new StringBuilder();
+    if (message != null)
+      builder.append(message).append(' ');
+
+    builder.append('[').append(json.getPosition());
+    final int line = json.getLine();
+    if (line != -1)
+      builder.append(", line ").append(line);
+
+    final int column = json.getColumn();
+    if (column != -1)
+      builder.append(", column ").append(column);
+
+    return builder.append("] ").append(json.getContext()).toString();
+  }
+
+  private final int position;
+  private final int line;
+  private final int column;
   private final String json;
 
-  public DecodeException(final JsonReader json) throws IOException {
+  public DecodeException(final JsonTokenizer json) throws IOException {
     this(null, json, null);
   }
 
-  public DecodeException(final String message, final JsonReader json) throws IOException {
+  public DecodeException(final String message, final JsonTokenizer json) throws IOException {
     this(message, json, null);
   }
 
-  public DecodeException(final JsonReader json, final Throwable cause) throws IOException {
+  public DecodeException(final JsonTokenizer json, final Throwable cause) throws IOException {
     this(null, json, cause);
   }
 
-  public DecodeException(final String message, final JsonReader json, final Throwable cause) throws IOException {
-    super(message != null ? message + " [" + json.getPosition() + "] " + json.readFully() : "[" + json.getPosition() + "] " + json.readFully(), cause);
+  public DecodeException(final String message, final JsonTokenizer json, final Throwable cause) throws IOException {
+    super(message(message, json), cause);
+    this.position = json.getPosition();
+    this.line = json.getLine();
+    this.column = json.getColumn();
     this.json = json.readFully();
   }
 
+  public int getPosition() {
+    return position;
+  }
+
+  /**
+   * @return The line number of the error, or -1 if it is not known.
+   */
+  public int getLine() {
+    return line;
+  }
+
+  /**
+   * @return The column of the error, or -1 if it is not known.
+   */
+  public int getColumn() {
+    return column;
+  }
+
+  /**
+   * @return The whole JSON document, or {@code null} if the input was not
+   *         retained.
+   */
   public String getJSON() {
     return json;
   }
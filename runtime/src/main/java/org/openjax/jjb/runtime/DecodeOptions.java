@@ -0,0 +1,177 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+/**
+ * Immutable options of a decode. Each {@code with} method returns a copy with
+ * the specified option changed.
+ */
+public final class DecodeOptions {
+  /**
+   * The extent of the validation of the decoded properties.
+   */
+  public enum Validation {
+    /**
+     * The validators of each property (pattern, length, range, form), as well
+     * as the "required" and "null" constraints, are checked.
+     */
+    FULL,
+    /**
+     * Only the "required" and "null" constraints are checked.
+     */
+    STRUCTURAL_ONLY,
+    /**
+     * No constraints are checked, for input that is known to be valid.
+     */
+    NONE
+  }
+
+  /**
+   * The default options: full validation, no projection, no limits, and a
+   * parallel threshold of 1 MiB.
+   */
+  public static final DecodeOptions DEFAULT = new DecodeOptions(Validation.FULL, null, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE, 1 << 20);
+
+  private static int checkLimit(final String name, final int limit) {
+    if (limit < 0)
+      throw new IllegalArgumentException(name + " (" + limit + ") must be non-negative");
+
+    return limit;
+  }
+
+  private final Validation validation;
+  private final Projection projection;
+  private final int maxDepth;
+  private final int maxArrayLength;
+  private final int maxStringLength;
+  private final int maxNumberLength;
+  private final long maxInputLength;
+  private final int parallelThreshold;
+
+  private DecodeOptions(final Validation validation, final Projection projection, final int maxDepth, final int maxArrayLength, final int maxStringLength, final int maxNumberLength, final long maxInputLength, final int parallelThreshold) {
+    this.validation = validation;
+    this.projection = projection;
+    this.maxDepth = maxDepth;
+    this.maxArrayLength = maxArrayLength;
+    this.maxStringLength = maxStringLength;
+    this.maxNumberLength = maxNumberLength;
+    this.maxInputLength = maxInputLength;
+    this.parallelThreshold = parallelThreshold;
+  }
+
+  public Validation getValidation() {
+    return validation;
+  }
+
+  public DecodeOptions withValidation(final Validation validation) {
+    if (validation == null)
+      throw new NullPointerException("validation == null");
+
+    return new DecodeOptions(validation, projection, maxDepth, maxArrayLength, maxStringLength, maxNumberLength, maxInputLength, parallelThreshold);
+  }
+
+  /**
+   * @return The projection of the decode, or {@code null} if the whole input
+   *         is decoded.
+   */
+  public Projection getProjection() {
+    return projection;
+  }
+
+  public DecodeOptions withProjection(final Projection projection) {
+    return new DecodeOptions(validation, projection, maxDepth, maxArrayLength, maxStringLength, maxNumberLength, maxInputLength, parallelThreshold);
+  }
+
+  /**
+   * @return The maximum nesting depth of arrays and objects.
+   */
+  public int getMaxDepth() {
+    return maxDepth;
+  }
+
+  public DecodeOptions withMaxDepth(final int maxDepth) {
+    return new DecodeOptions(validation, projection, checkLimit("maxDepth", maxDepth), maxArrayLength, maxStringLength, maxNumberLength, maxInputLength, parallelThreshold);
+  }
+
+  /**
+   * @return The maximum number of elements of an array.
+   */
+  public int getMaxArrayLength() {
+    return maxArrayLength;
+  }
+
+  public DecodeOptions withMaxArrayLength(final int maxArrayLength) {
+    return new DecodeOptions(validation, projection, maxDepth, checkLimit("maxArrayLength", maxArrayLength), maxStringLength, maxNumberLength, maxInputLength, parallelThreshold);
+  }
+
+  /**
+   * @return The maximum length of a string, including property names, in
+   *         the units (chars or bytes) of the input, before unescaping.
+   */
+  public int getMaxStringLength() {
+    return maxStringLength;
+  }
+
+  public DecodeOptions withMaxStringLength(final int maxStringLength) {
+    return new DecodeOptions(validation, projection, maxDepth, maxArrayLength, checkLimit("maxStringLength", maxStringLength), maxNumberLength, maxInputLength, parallelThreshold);
+  }
+
+  /**
+   * @return The maximum number of chars of a number, including its sign,
+   *         fraction and exponent.
+   */
+  public int getMaxNumberLength() {
+    return maxNumberLength;
+  }
+
+  public DecodeOptions withMaxNumberLength(final int maxNumberLength) {
+    return new DecodeOptions(validation, projection, maxDepth, maxArrayLength, maxStringLength, checkLimit("maxNumberLength", maxNumberLength), maxInputLength, parallelThreshold);
+  }
+
+  /**
+   * @return The maximum length of the whole input, in the units (chars or
+   *         bytes) of the input.
+   */
+  public long getMaxInputLength() {
+    return maxInputLength;
+  }
+
+  public DecodeOptions withMaxInputLength(final long maxInputLength) {
+    if (maxInputLength < 0)
+      throw new IllegalArgumentException("maxInputLength (" + maxInputLength + ") must be non-negative");
+
+    return new DecodeOptions(validation, projection, maxDepth, maxArrayLength, maxStringLength, maxNumberLength, maxInputLength, parallelThreshold);
+  }
+
+  /**
+   * @return The minimum length, in bytes, of a top-level array that is
+   *         decoded in parallel by
+   *         {@link JSObject#parseParallel(Class,byte[],DecodeOptions)}.
+   */
+  public int getParallelThreshold() {
+    return parallelThreshold;
+  }
+
+  public DecodeOptions withParallelThreshold(final int parallelThreshold) {
+    return new DecodeOptions(validation, projection, maxDepth, maxArrayLength, maxStringLength, maxNumberLength, maxInputLength, checkLimit("parallelThreshold", parallelThreshold));
+  }
+
+  @Override
+  public String toString() {
+    return "{validation: " + validation + ", projection: " + projection + ", maxDepth: " + maxDepth + ", maxArrayLength: " + maxArrayLength + ", maxStringLength: " + maxStringLength + ", maxNumberLength: " + maxNumberLength + ", maxInputLength: " + maxInputLength + ", parallelThreshold: " + parallelThreshold + "}";
+  }
+}
\ No newline at end of file
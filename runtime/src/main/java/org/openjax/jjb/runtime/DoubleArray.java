@@ -0,0 +1,166 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.openjax.jjb.runtime.decoder.NumberDecoder;
+import org.openjax.jjb.runtime.validator.NumberValidator;
+
+/**
+ * {@link PrimitiveArray} backed by a {@code double[]}.
+ */
+public class DoubleArray extends PrimitiveArray<Double> {
+  private static final long serialVersionUID = 4276437216318217762L;
+
+  private double[] values;
+  private int size;
+
+  public DoubleArray() {
+    this(10);
+  }
+
+  public DoubleArray(final int capacity) {
+    this.values = new double[capacity];
+  }
+
+  public DoubleArray(final double ... values) {
+    this.values = values.clone();
+    this.size = values.length;
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > values.length)
+      values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 1));
+  }
+
+  public double getDouble(final int index) {
+    checkIndex(index, size);
+    return values[index];
+  }
+
+  public double setDouble(final int index, final double value) {
+    checkIndex(index, size);
+    final double previous = values[index];
+    values[index] = value;
+    return previous;
+  }
+
+  public void addDouble(final double value) {
+    ensureCapacity(size + 1);
+    values[size++] = value;
+  }
+
+  public void addDouble(final int index, final double value) {
+    if (index < 0 || index > size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+    ensureCapacity(size + 1);
+    System.arraycopy(values, index, values, index + 1, size - index);
+    values[index] = value;
+    ++size;
+  }
+
+  public double removeDouble(final int index) {
+    checkIndex(index, size);
+    final double previous = values[index];
+    System.arraycopy(values, index + 1, values, index, --size - index);
+    return previous;
+  }
+
+  /**
+   * @return A new {@code double[]} of the elements of this array.
+   */
+  public double[] toDoubleArray() {
+    return Arrays.copyOf(values, size);
+  }
+
+  @Override
+  public Double get(final int index) {
+    return getDouble(index);
+  }
+
+  @Override
+  public Double set(final int index, final Double element) {
+    return setDouble(index, element);
+  }
+
+  @Override
+  public void add(final int index, final Double element) {
+    addDouble(index, element);
+  }
+
+  @Override
+  public boolean add(final Double e) {
+    addDouble(e);
+    return true;
+  }
+
+  @Override
+  public Double remove(final int index) {
+    return removeDouble(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    size = 0;
+  }
+
+  @Override
+  boolean addToken(final char ch, final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    if (('0' > ch || ch > '9') && ch != '-')
+      return false;
+
+    try {
+      addDouble(NumberDecoder.parseDouble(tokenizer));
+    }
+    catch (final NumberFormatException e) {
+      throw new DecodeException("is not a number: \"" + tokenizer.getText() + "\"", tokenizer, e);
+    }
+
+    return true;
+  }
+
+  @Override
+  void writeTo(final JsonWriter out, final String delim) throws IOException {
+    for (int i = 0; i < size; ++i) {
+      if (i > 0)
+        out.write(delim);
+
+      out.write(String.valueOf(values[i]));
+    }
+  }
+
+  @Override
+  String validate(final int index, final NumberValidator validator) {
+    return validator.validate(values[index]);
+  }
+
+  @Override
+  public DoubleArray clone() {
+    final DoubleArray clone = new DoubleArray(0);
+    clone.values = toDoubleArray();
+    clone.size = size;
+    return clone;
+  }
+}
\ No newline at end of file
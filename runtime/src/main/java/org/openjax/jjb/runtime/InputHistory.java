@@ -0,0 +1,240 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Record of the input that has passed through a reader or tokenizer, which is
+ * used to provide the context of decode errors. The history either retains
+ * the whole input, or only a bounded ring of the most recent input, and keeps
+ * running counts of the position and the number of lines in either mode.
+ * Bytes are recorded as chars in the range 0-255, and are decoded as UTF-8
+ * only when the context is requested.
+ */
+final class InputHistory {
+  static final int DEFAULT_WINDOW = 8192;
+  private static final int CONTEXT = 40;
+
+  /**
+   * Creates a bounded history of an in-memory document, which records only
+   * the {@link #DEFAULT_WINDOW} of input around the specified index. The
+   * lines before the window are counted in place, so the document is never
+   * copied.
+   *
+   * @param bytes The buffer of the document, which is read with absolute
+   *          gets.
+   * @param first The index of the start of the document.
+   * @param index The index around which the input is recorded.
+   * @param limit The index of the end of the document.
+   * @return The history, the position of which is the end of the window.
+   */
+  static InputHistory window(final ByteBuffer bytes, final int first, final int index, final int limit) {
+    final int from = Math.max(first, Math.min(index, limit) - DEFAULT_WINDOW / 2);
+    final int to = Math.min(limit, from + DEFAULT_WINDOW);
+    final InputHistory history = new InputHistory(Math.max(to - from, 1), false, true);
+    for (int i = first; i < from; ++i)
+      if (bytes.get(i) == '\n')
+        history.writeNewline(i - first);
+
+    history.position = from - first;
+    history.windowed = true;
+    history.skippedNewline = history.lastNewline;
+    for (int i = from; i < to; ++i)
+      history.write(bytes.get(i) & 0xFF);
+
+    return history;
+  }
+
+  private final boolean retain;
+  private final boolean utf8;
+  private char[] chars;
+  private int position;
+  private int lines;
+  private int lastNewline = -1;
+  /** Whether the input before the recorded input has been counted */
+  private boolean windowed;
+  /** The last newline before the recorded input of a window, or -1 */
+  private int skippedNewline = -1;
+
+  InputHistory(final int size, final boolean retain, final boolean utf8) {
+    this(new char[size], retain, utf8);
+  }
+
+  /**
+   * @param chars The initial buffer, which may be the reused buffer of a
+   *          {@link JsonContext}.
+   */
+  InputHistory(final char[] chars, final boolean retain, final boolean utf8) {
+    this.retain = retain;
+    this.utf8 = utf8;
+    this.chars = chars;
+  }
+
+  boolean isRetained() {
+    return retain;
+  }
+
+  int getPosition() {
+    return position;
+  }
+
+  void write(final int ch) {
+    if (ch == '\n') {
+      ++lines;
+      lastNewline = position;
+    }
+
+    if (retain) {
+      if (position == chars.length)
+        chars = Arrays.copyOf(chars, chars.length * 2);
+
+      chars[position] = (char)ch;
+    }
+    else {
+      chars[position % chars.length] = (char)ch;
+    }
+
+    ++position;
+  }
+
+  void write(final char[] cbuf, final int off, final int len) {
+    for (int i = off; i < off + len; ++i)
+      if (cbuf[i] == '\n')
+        writeNewline(position + i - off);
+
+    if (retain) {
+      ensureCapacity(len);
+      System.arraycopy(cbuf, off, chars, position, len);
+      position += len;
+      return;
+    }
+
+    for (int i = len <= chars.length ? off : off + len - chars.length, p = position + i - off; i < off + len;) {
+      final int index = p % chars.length;
+      final int count = Math.min(off + len - i, chars.length - index);
+      System.arraycopy(cbuf, i, chars, index, count);
+      i += count;
+      p += count;
+    }
+
+    position += len;
+  }
+
+  void write(final byte[] buf, final int off, final int len) {
+    if (retain)
+      ensureCapacity(len);
+
+    for (int i = off; i < off + len; ++i)
+      write(buf[i] & 0xFF);
+  }
+
+  private void writeNewline(final int index) {
+    ++lines;
+    lastNewline = index;
+  }
+
+  private void ensureCapacity(final int len) {
+    if (position + len > chars.length)
+      chars = Arrays.copyOf(chars, Math.max(chars.length * 2, position + len));
+  }
+
+  /**
+   * @return The position of the oldest input that is still recorded.
+   */
+  private int first() {
+    return retain ? 0 : Math.max(0, position - chars.length);
+  }
+
+  private char charAt(final int position) {
+    return chars[retain ? position : position % chars.length];
+  }
+
+  /**
+   * @param position The position in the input.
+   * @return The 1-based line number of the specified position, or -1 if it is
+   *         not known.
+   */
+  int getLine(final int position) {
+    if (position < first() || position > this.position)
+      return -1;
+
+    int line = lines + 1;
+    for (int i = position; i < this.position; ++i)
+      if (charAt(i) == '\n')
+        --line;
+
+    return line;
+  }
+
+  /**
+   * @param position The position in the input.
+   * @return The 1-based column of the specified position, in the units of the
+   *         input (chars or bytes), or -1 if it is not known.
+   */
+  int getColumn(final int position) {
+    if (position > this.position)
+      return -1;
+
+    if (lastNewline < position)
+      return position - lastNewline;
+
+    final int first = first();
+    for (int i = position - 1; i >= first; --i)
+      if (charAt(i) == '\n')
+        return position - i;
+
+    return first == 0 || windowed ? position - skippedNewline : -1;
+  }
+
+  /**
+   * @param position The position in the input.
+   * @return The recorded input around the specified position.
+   */
+  String getContext(final int position) {
+    return toString(Math.max(first(), position - CONTEXT), Math.min(this.position, position + CONTEXT));
+  }
+
+  private String toString(final int from, final int to) {
+    if (from >= to)
+      return "";
+
+    if (!utf8) {
+      final StringBuilder builder = new StringBuilder(to - from);
+      for (int i = from; i < to; ++i)
+        builder.append(charAt(i));
+
+      return builder.toString();
+    }
+
+    final byte[] bytes = new byte[to - from];
+    for (int i = from; i < to; ++i)
+      bytes[i - from] = (byte)charAt(i);
+
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  /**
+   * @return The whole recorded input, or {@code null} if the input is not
+   *         retained.
+   */
+  String getInput() {
+    return retain ? toString(0, position) : null;
+  }
+}
\ No newline at end of file
@@ -16,6 +16,7 @@
 
 package org.openjax.jjb.runtime;
 
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -27,21 +28,31 @@ import java.util.RandomAccess;
 public class JSArray<E> extends JSObject implements List<E>, RandomAccess, Serializable {
   private static final long serialVersionUID = -3764980134016799398L;
 
-  protected static <T> String toString(final Collection<T> value, final int depth) {
-    if (value == null)
-      return "null";
-
-    if (value.size() == 0)
-      return "[]";
-
-    final StringBuilder builder = new StringBuilder("[");
-    final Iterator<T> iterator = value.iterator();
-    builder.append(toString(iterator.next(), depth));
+  /**
+   * Writes the elements of the specified array, separated by {@code ", "},
+   * or by {@code ","} in the external form, for which the depth is -1.
+   */
+  static void encodeElements(final JsonWriter out, final Collection<?> value, final int depth) throws IOException {
+    if (value.size() == 0) {
+      out.write("[]");
+      return;
+    }
+
+    out.write('[');
     final String delim = depth == -1 ? "," : ", ";
-    while (iterator.hasNext())
-      builder.append(delim).append(toString(iterator.next(), depth));
+    if (value instanceof PrimitiveArray) {
+      ((PrimitiveArray<?>)value).writeTo(out, delim);
+    }
+    else {
+      final Iterator<?> iterator = value.iterator();
+      write(out, iterator.next(), depth);
+      while (iterator.hasNext()) {
+        out.write(delim);
+        write(out, iterator.next(), depth);
+      }
+    }
 
-    return builder.append(']').toString();
+    out.write(']');
   }
 
   private final ArrayList<E> list;
@@ -58,6 +69,14 @@ public class JSArray<E> extends JSObject implements List<E>, RandomAccess, Seria
     this.list = new ArrayList<>(size);
   }
 
+  /**
+   * Creates a {@link JSArray} that is not backed by an {@link ArrayList}, for
+   * subclasses that override all of its {@link List} methods.
+   */
+  JSArray(final boolean backed) {
+    this.list = backed ? new ArrayList<>() : null;
+  }
+
   @SuppressWarnings("unchecked")
   private JSArray(final JSArray<E> copy) {
     this.list = (ArrayList<E>)copy.list.clone();
@@ -78,6 +97,13 @@ public class JSArray<E> extends JSObject implements List<E>, RandomAccess, Seria
     return null;
   }
 
+  @Override
+  public void validate() throws DecodeException, IOException {
+    if (list != null)
+      for (final E member : list)
+        validate(member);
+  }
+
   @Override
   protected JSBundle _bundle() {
     return null;
@@ -89,8 +115,8 @@ public class JSArray<E> extends JSObject implements List<E>, RandomAccess, Seria
   }
 
   @Override
-  protected String _encode(final int depth) {
-    return toString(this, depth);
+  protected void _encode(final JsonWriter out, final int depth) throws IOException {
+    encodeElements(out, this, depth);
   }
 
   @Override
@@ -218,23 +244,48 @@ public class JSArray<E> extends JSObject implements List<E>, RandomAccess, Seria
     return new JSArray<>(this);
   }
 
+  /**
+   * @return The hash code of the elements of this array, as specified by
+   *         {@link List#hashCode()}.
+   */
   @Override
   public int hashCode() {
-    return super.hashCode();
+    int hashCode = 1;
+    for (final E member : this)
+      hashCode = 31 * hashCode + (member == null ? 0 : member.hashCode());
+
+    return hashCode;
   }
 
+  /**
+   * @return Whether the specified object is a {@link List} of equal elements
+   *         in the same order, as specified by {@link List#equals(Object)}.
+   */
   @Override
   public boolean equals(final Object obj) {
-    return obj == this || obj instanceof JSArray && containsAll((JSArray<?>)obj);
+    if (obj == this)
+      return true;
+
+    if (!(obj instanceof List) || ((List<?>)obj).size() != size())
+      return false;
+
+    final Iterator<?> iterator = ((List<?>)obj).iterator();
+    for (final E member : this) {
+      final Object other = iterator.next();
+      if (member == null ? other != null : !member.equals(other))
+        return false;
+    }
+
+    return true;
   }
 
   @Override
   public String toString() {
-    return _encode(1);
+    return encode(this, 1);
   }
 
   @Override
   public String toExternalForm() {
-    return _encode(-1);
+    return encode(this, -1);
   }
 }
\ No newline at end of file
@@ -0,0 +1,131 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link Iterator} of the elements of a top-level JSON array, each of which is
+ * decoded as an object of the element type only when it is requested, such
+ * that the array is processed in constant memory regardless of its length.
+ * Decode errors are thrown by {@link #hasNext()} and {@link #next()} as an
+ * {@link IllegalStateException}, the cause of which is the
+ * {@link DecodeException} or {@link IOException}.
+ *
+ * @param <T> The type of the elements.
+ */
+public class JSArrayIterator<T extends JSObject> implements Iterator<T>, Closeable {
+  private final JsonTokenizer tokenizer;
+  private final Closeable source;
+  private final Binding<T> binding;
+  private final Projection projection;
+  private int index;
+  private boolean pending;
+  private boolean done;
+  private char ch;
+
+  JSArrayIterator(final Class<T> type, final JsonTokenizer tokenizer, final Closeable source, final DecodeOptions options) throws DecodeException, IOException {
+    this.tokenizer = tokenizer;
+    this.source = source;
+    this.binding = new Binding<>(null, null, type, false, false, Required.FALSE, false);
+    this.projection = options.getProjection();
+    tokenizer.setOptions(options);
+    if (tokenizer.nextToken() != '[')
+      throw new DecodeException("Expected \"[\" but found \"" + tokenizer.getText() + "\"", tokenizer);
+  }
+
+  private void advance() throws DecodeException, IOException {
+    ch = tokenizer.nextToken();
+    if (ch == ']') {
+      done = true;
+      return;
+    }
+
+    if (index > 0) {
+      if (ch != ',')
+        throw new DecodeException("Expected \",\" or \"]\" but found \"" + tokenizer.getText() + "\"", tokenizer);
+
+      ch = tokenizer.nextToken();
+    }
+
+    if (++index > tokenizer.maxArrayLength)
+      throw new DecodeException("Array length exceeds the limit of " + tokenizer.maxArrayLength, tokenizer);
+
+    pending = true;
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (!pending && !done) {
+      try {
+        advance();
+      }
+      catch (final DecodeException | IOException e) {
+        throw new IllegalStateException(e.getMessage(), e);
+      }
+    }
+
+    return !done;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T next() {
+    if (!hasNext())
+      throw new NoSuchElementException();
+
+    pending = false;
+    try {
+      if (ch == '[')
+        throw new DecodeException("Expected \"{}\" but found \"" + tokenizer.getText() + "\"", tokenizer);
+
+      return (T)JSObjectBase.decodeValue(ch, tokenizer, binding, projection);
+    }
+    catch (final DecodeException | IOException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @return A sequential {@link Stream} of the remaining elements, which
+   *         closes this iterator when it is closed.
+   */
+  public Stream<T> stream() {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false).onClose(() -> {
+      try {
+        close();
+      }
+      catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (source != null)
+      source.close();
+  }
+}
\ No newline at end of file
@@ -16,6 +16,53 @@
 
 package org.openjax.jjb.runtime;
 
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
 public abstract class JSBundle {
+  /**
+   * Returns the factory registered for the specified class by the bundle that
+   * declares it.
+   *
+   * @param type The class.
+   * @return The factory registered for the specified class, or {@code null} if
+   *         the class is not declared in a bundle, or was not registered.
+   */
+  static Supplier<? extends JSObject> getFactory(final Class<?> type) {
+    Class<?> declaringClass = type;
+    while (declaringClass.getDeclaringClass() != null)
+      declaringClass = declaringClass.getDeclaringClass();
+
+    if (!JSBundle.class.isAssignableFrom(declaringClass))
+      return null;
+
+    try {
+      final Method instance = declaringClass.getDeclaredMethod("instance");
+      instance.setAccessible(true);
+      return ((JSBundle)instance.invoke(null)).factories.get(type);
+    }
+    catch (final ReflectiveOperationException | SecurityException e) {
+      return null;
+    }
+  }
+
+  private final Map<Class<?>,Supplier<? extends JSObject>> factories = new HashMap<>();
+
+  /**
+   * Registers the factory of a class of this bundle, with which the decoder
+   * creates instances of the class. Factories are registered by the
+   * constructor of the bundle, the instance of which is published safely to
+   * other threads by the initialization of a static final field.
+   *
+   * @param <T> The type of the class.
+   * @param type The class.
+   * @param factory The factory of the class.
+   */
+  protected final <T extends JSObject>void register(final Class<T> type, final Supplier<T> factory) {
+    factories.put(type, factory);
+  }
+
   protected abstract String getSpec();
 }
\ No newline at end of file
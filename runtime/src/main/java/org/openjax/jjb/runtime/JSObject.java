@@ -18,32 +18,374 @@ package org.openjax.jjb.runtime;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.io.InputStreamReader;
+import java.io.OutputStream;
 import java.io.Reader;
-import java.lang.reflect.InvocationTargetException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 
 public abstract class JSObject extends JSObjectBase implements Cloneable {
   public static <T extends JSObject>T parse(final Class<?> type, final InputStream in) throws DecodeException, IOException {
-    return parse(type, new InputStreamReader(in));
+    return parse(type, in, DecodeOptions.DEFAULT);
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final byte[] bytes) throws DecodeException, IOException {
+    return parse(type, bytes, 0, bytes.length);
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final byte[] bytes, final int offset, final int length) throws DecodeException, IOException {
+    return parse(type, bytes, offset, length, DecodeOptions.DEFAULT);
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final ByteBuffer buffer) throws DecodeException, IOException {
+    return parse(type, buffer, DecodeOptions.DEFAULT);
   }
 
-  @SuppressWarnings("unchecked")
   public static <T extends JSObject>T parse(final Class<?> type, final Reader reader) throws DecodeException, IOException {
+    return parse(type, reader, DecodeOptions.DEFAULT);
+  }
+
+  /**
+   * Parses only the properties that are included by the specified projection.
+   * All other properties, and the elements of arrays outside of the slices of
+   * the projection, are skipped without being decoded or validated. This is a
+   * shorthand of {@link #parse(Class,Reader,DecodeOptions)} with
+   * {@link DecodeOptions#withProjection(Projection)}, which is the canonical
+   * form for a projection with other options.
+   *
+   * @param type The class of the object.
+   * @param reader The reader of the JSON text.
+   * @param projection The projection.
+   * @return The parsed object.
+   * @throws DecodeException If the JSON text is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public static <T extends JSObject>T parse(final Class<?> type, final Reader reader, final Projection projection) throws DecodeException, IOException {
+    return parse(type, reader, DecodeOptions.DEFAULT.withProjection(projection));
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final InputStream in, final Projection projection) throws DecodeException, IOException {
+    return parse(type, in, DecodeOptions.DEFAULT.withProjection(projection));
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final byte[] bytes, final Projection projection) throws DecodeException, IOException {
+    return parse(type, bytes, DecodeOptions.DEFAULT.withProjection(projection));
+  }
+
+  /**
+   * Parses the JSON text of the specified reader with the specified options,
+   * which may downgrade validation for input that is known to be valid.
+   *
+   * @param type The class of the object.
+   * @param reader The reader of the JSON text.
+   * @param options The options of the decode.
+   * @return The parsed object.
+   * @throws DecodeException If the JSON text is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public static <T extends JSObject>T parse(final Class<?> type, final Reader reader, final DecodeOptions options) throws DecodeException, IOException {
+    return parse(type, reader, options, JsonContext.get());
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final InputStream in, final DecodeOptions options) throws DecodeException, IOException {
+    return parse(type, in, options, JsonContext.get());
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final byte[] bytes, final DecodeOptions options) throws DecodeException, IOException {
+    return parse(type, bytes, options, JsonContext.get());
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final byte[] bytes, final int offset, final int length, final DecodeOptions options) throws DecodeException, IOException {
+    return parse(type, bytes, offset, length, options, JsonContext.get());
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final ByteBuffer buffer, final DecodeOptions options) throws DecodeException, IOException {
+    return parse(type, buffer, options, JsonContext.get());
+  }
+
+  /**
+   * Parses the JSON text of the specified reader with the specified options,
+   * reusing the scratch buffers of the specified context, such as a context
+   * that is taken from a pool for the duration of the decode.
+   *
+   * @param type The class of the object.
+   * @param reader The reader of the JSON text.
+   * @param options The options of the decode.
+   * @param context The context, which must not be in use by another decode.
+   * @return The parsed object.
+   * @throws DecodeException If the JSON text is invalid.
+   * @throws IOException If an I/O error has occurred.
+   * @throws IllegalStateException If the context is in use.
+   */
+  public static <T extends JSObject>T parse(final Class<?> type, final Reader reader, final DecodeOptions options, final JsonContext context) throws DecodeException, IOException {
+    return parse(type, new CharJsonTokenizer(reader instanceof JsonReader ? (JsonReader)reader : new JsonReader(reader, context), context), options, context);
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final InputStream in, final DecodeOptions options, final JsonContext context) throws DecodeException, IOException {
+    return parse(type, new Utf8JsonTokenizer(in, context), options, context);
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final byte[] bytes, final DecodeOptions options, final JsonContext context) throws DecodeException, IOException {
+    return parse(type, bytes, 0, bytes.length, options, context);
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final byte[] bytes, final int offset, final int length, final DecodeOptions options, final JsonContext context) throws DecodeException, IOException {
+    return parse(type, new Utf8JsonTokenizer(bytes, offset, length), options, context);
+  }
+
+  public static <T extends JSObject>T parse(final Class<?> type, final ByteBuffer buffer, final DecodeOptions options, final JsonContext context) throws DecodeException, IOException {
+    return parse(type, buffer.hasArray() ? new Utf8JsonTokenizer(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining()) : new ByteBufferJsonTokenizer(buffer), options, context);
+  }
+
+  /**
+   * Parses the specified array lazily: the arrays, objects and strings that
+   * are the values of properties are skipped, and are decoded and validated
+   * on the first access of their property, or by {@link #validate()}. The
+   * array is retained by the returned object, and must not be modified.
+   *
+   * @param type The class of the object.
+   * @param bytes The array of UTF-8 bytes.
+   * @return The parsed object.
+   * @throws DecodeException If the structure of the object is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public static <T extends JSObject>T parseLazy(final Class<?> type, final byte[] bytes) throws DecodeException, IOException {
+    return parseLazy(type, bytes, 0, bytes.length);
+  }
+
+  public static <T extends JSObject>T parseLazy(final Class<?> type, final byte[] bytes, final int offset, final int length) throws DecodeException, IOException {
+    return parseLazy(type, bytes, offset, length, DecodeOptions.DEFAULT);
+  }
+
+  public static <T extends JSObject>T parseLazy(final Class<?> type, final byte[] bytes, final DecodeOptions options) throws DecodeException, IOException {
+    return parseLazy(type, bytes, 0, bytes.length, options);
+  }
+
+  public static <T extends JSObject>T parseLazy(final Class<?> type, final byte[] bytes, final int offset, final int length, final DecodeOptions options) throws DecodeException, IOException {
+    return parseLazy(type, bytes, offset, length, options, JsonContext.get());
+  }
+
+  public static <T extends JSObject>T parseLazy(final Class<?> type, final byte[] bytes, final DecodeOptions options, final JsonContext context) throws DecodeException, IOException {
+    return parseLazy(type, bytes, 0, bytes.length, options, context);
+  }
+
+  /**
+   * Parses the specified range of the array lazily with the specified options,
+   * which also apply to the deferred values when they are decoded. The context
+   * is used for the structural pass only, as the deferred values are decoded
+   * from the array without it.
+   *
+   * @param type The class of the object.
+   * @param bytes The array of UTF-8 bytes.
+   * @param offset The index of the first byte of the JSON text.
+   * @param length The number of bytes of the JSON text.
+   * @param options The options of the decode.
+   * @param context The context, which must not be in use by another decode.
+   * @return The parsed object.
+   * @throws DecodeException If the structure of the object is invalid.
+   * @throws IOException If an I/O error has occurred.
+   * @throws IllegalStateException If the context is in use.
+   */
+  public static <T extends JSObject>T parseLazy(final Class<?> type, final byte[] bytes, final int offset, final int length, final DecodeOptions options, final JsonContext context) throws DecodeException, IOException {
+    if (offset < 0 || length < 0 || offset + length > bytes.length)
+      throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", bytes.length: " + bytes.length);
+
+    return parse(type, new Utf8JsonTokenizer(bytes, offset, offset, offset + length, true), options, context);
+  }
+
+  /**
+   * Parses a top-level JSON array one element at a time. Each element is
+   * decoded as an object of the specified type when it is requested from
+   * the returned iterator, which closes the reader when it is closed.
+   *
+   * @param type The class of the elements.
+   * @param reader The reader of the JSON text.
+   * @return An iterator of the elements.
+   * @throws DecodeException If the JSON text is not an array.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public static <T extends JSObject>JSArrayIterator<T> parseArray(final Class<T> type, final Reader reader) throws DecodeException, IOException {
+    return parseArray(type, reader, DecodeOptions.DEFAULT);
+  }
+
+  public static <T extends JSObject>JSArrayIterator<T> parseArray(final Class<T> type, final Reader reader, final DecodeOptions options) throws DecodeException, IOException {
+    return new JSArrayIterator<>(type, new CharJsonTokenizer(reader instanceof JsonReader ? (JsonReader)reader : new JsonReader(reader, false)), reader, options);
+  }
+
+  public static <T extends JSObject>JSArrayIterator<T> parseArray(final Class<T> type, final InputStream in) throws DecodeException, IOException {
+    return parseArray(type, in, DecodeOptions.DEFAULT);
+  }
+
+  public static <T extends JSObject>JSArrayIterator<T> parseArray(final Class<T> type, final InputStream in, final DecodeOptions options) throws DecodeException, IOException {
+    return new JSArrayIterator<>(type, new Utf8JsonTokenizer(in), in, options);
+  }
+
+  /**
+   * Parses the provided UTF-8 bytes as {@link #parse(Class,byte[],DecodeOptions)}
+   * does, but decodes the elements of a top-level array in parallel on the
+   * common {@link ForkJoinPool} if the length of the input is at least the
+   * {@link DecodeOptions#getParallelThreshold() parallel threshold}.
+   *
+   * @param type The class of the object, or of the elements of a top-level
+   *          array.
+   * @param bytes The array of UTF-8 bytes.
+   * @param options The options of the decode.
+   * @return The parsed object.
+   * @throws DecodeException If the structure of the object is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public static <T extends JSObject>T parseParallel(final Class<?> type, final byte[] bytes, final DecodeOptions options) throws DecodeException, IOException {
+    return parseParallel(type, bytes, options, ForkJoinPool.commonPool());
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T extends JSObject>T parseParallel(final Class<?> type, final byte[] bytes, final DecodeOptions options, final ForkJoinPool pool) throws DecodeException, IOException {
+    if (bytes.length < options.getParallelThreshold() || !JSObject.class.isAssignableFrom(type) || JSArray.class.isAssignableFrom(type))
+      return parse(type, bytes, options);
+
+    final JSArray<?> array = new ParallelDecoder(type, bytes, options).decode(pool);
+    return array != null ? (T)array : parse(type, bytes, options);
+  }
+
+  /**
+   * Parses the JSON text of the specified reader into the specified target,
+   * which is {@link #reset()} first, such that the objects of the previous
+   * decode into the target are reused. If the decode fails, the target is
+   * reset again, rather than left partly filled.
+   *
+   * @param reader The reader of the JSON text.
+   * @param target The object into which to decode.
+   * @return The target, or {@code null} if the JSON text is {@code null}.
+   * @throws DecodeException If the JSON text is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public static <T extends JSObject>T parseInto(final Reader reader, final T target) throws DecodeException, IOException {
+    return parseInto(reader, target, DecodeOptions.DEFAULT);
+  }
+
+  public static <T extends JSObject>T parseInto(final Reader reader, final T target, final DecodeOptions options) throws DecodeException, IOException {
+    final JsonContext context = JsonContext.get();
+    return parseInto(new CharJsonTokenizer(reader instanceof JsonReader ? (JsonReader)reader : new JsonReader(reader, context), context), target, options, context);
+  }
+
+  public static <T extends JSObject>T parseInto(final InputStream in, final T target) throws DecodeException, IOException {
+    return parseInto(in, target, DecodeOptions.DEFAULT);
+  }
+
+  public static <T extends JSObject>T parseInto(final InputStream in, final T target, final DecodeOptions options) throws DecodeException, IOException {
+    final JsonContext context = JsonContext.get();
+    return parseInto(new Utf8JsonTokenizer(in, context), target, options, context);
+  }
+
+  public static <T extends JSObject>T parseInto(final byte[] bytes, final T target) throws DecodeException, IOException {
+    return parseInto(bytes, target, DecodeOptions.DEFAULT);
+  }
+
+  public static <T extends JSObject>T parseInto(final byte[] bytes, final T target, final DecodeOptions options) throws DecodeException, IOException {
+    return parseInto(new Utf8JsonTokenizer(bytes, 0, bytes.length), target, options, JsonContext.get());
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T extends JSObject>T parseInto(final JsonTokenizer tokenizer, final T target, final DecodeOptions options, final JsonContext context) throws DecodeException, IOException {
+    context.acquire();
     try {
-      final JsonReader replayReader = reader instanceof JsonReader ? (JsonReader)reader : new JsonReader(reader);
-      final char ch = next(replayReader);
+      tokenizer.context = context;
+      tokenizer.setOptions(options);
+      target.reset();
+      try {
+        final char ch = tokenizer.nextToken();
+        if (ch == '[')
+          throw new DecodeException("Expected \"{\" but found \"" + tokenizer.getText() + "\"", tokenizer);
+
+        return (T)decode(tokenizer, ch, target, options.getProjection());
+      }
+      catch (final DecodeException | IOException e) {
+        // The properties of a failed decode are not left in the target
+        target.reset();
+        throw e;
+      }
+    }
+    finally {
+      context.release();
+    }
+  }
 
-      if (ch == '[')
-        return (T)decodeValue(ch, replayReader, null, Binding.ANY);
+  /**
+   * Parses a sequence of top-level JSON objects, such as JSON Lines (NDJSON),
+   * or concatenated documents. Each object is decoded as an object of the
+   * specified type when it is requested from the returned iterator, which
+   * closes the reader when it is closed.
+   *
+   * @param type The class of the objects.
+   * @param reader The reader of the JSON text.
+   * @return An iterator of the objects.
+   * @throws DecodeException If the input exceeds a limit of the options.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public static <T extends JSObject>JSObjectIterator<T> parseSequence(final Class<T> type, final Reader reader) throws DecodeException, IOException {
+    return parseSequence(type, reader, DecodeOptions.DEFAULT);
+  }
+
+  public static <T extends JSObject>JSObjectIterator<T> parseSequence(final Class<T> type, final Reader reader, final DecodeOptions options) throws DecodeException, IOException {
+    return new JSObjectIterator<>(type, new CharJsonTokenizer(reader instanceof JsonReader ? (JsonReader)reader : new JsonReader(reader, false)), reader, options);
+  }
 
-      if (!JSObject.class.isAssignableFrom(type))
-        throw new DecodeException("Expected a JSObject type " + type.getName(), replayReader, null);
+  public static <T extends JSObject>JSObjectIterator<T> parseSequence(final Class<T> type, final InputStream in) throws DecodeException, IOException {
+    return parseSequence(type, in, DecodeOptions.DEFAULT);
+  }
 
-      return (T)decode(replayReader, ch, ((Class<T>)type).getDeclaredConstructor().newInstance());
+  public static <T extends JSObject>JSObjectIterator<T> parseSequence(final Class<T> type, final InputStream in, final DecodeOptions options) throws DecodeException, IOException {
+    return new JSObjectIterator<>(type, new Utf8JsonTokenizer(in), in, options);
+  }
+
+  /**
+   * Parses the object of the specified tokenizer, which uses the buffers of
+   * the specified context for the duration of the decode.
+   */
+  private static <T extends JSObject>T parse(final Class<?> type, final JsonTokenizer tokenizer, final DecodeOptions options, final JsonContext context) throws DecodeException, IOException {
+    context.acquire();
+    try {
+      tokenizer.context = context;
+      return parse(type, tokenizer, options);
     }
-    catch (final IllegalAccessException | InstantiationException | InvocationTargetException | NoSuchMethodException e) {
-      throw new UnsupportedOperationException(e);
+    finally {
+      context.release();
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  static <T extends JSObject>T parse(final Class<?> type, final JsonTokenizer tokenizer, final DecodeOptions options) throws DecodeException, IOException {
+    tokenizer.setOptions(options);
+    final Projection projection = options.getProjection();
+    final char ch = tokenizer.nextToken();
+
+    // The elements of a top-level array are decoded as objects of the type,
+    // unless the type is itself an array
+    if (ch == '[')
+      return (T)decodeValue(ch, tokenizer, JSObject.class.isAssignableFrom(type) && !JSArray.class.isAssignableFrom(type) ? arrayBindings.get(type) : Binding.ANY, projection);
+
+    if (!JSObject.class.isAssignableFrom(type))
+      throw new DecodeException("Expected a JSObject type " + type.getName(), tokenizer, null);
+
+    return (T)decode(tokenizer, ch, newInstance(type), projection);
+  }
+
+  static final ClassValue<Binding<?>> arrayBindings = new ClassValue<Binding<?>>() {
+    @Override
+    protected Binding<?> computeValue(final Class<?> type) {
+      return new Binding<>(null, null, type, false, true, Required.FALSE, false);
+    }
+  };
+
+  static void validate(final Object value) throws DecodeException, IOException {
+    if (value instanceof JSObject) {
+      ((JSObject)value).validate();
+    }
+    else if (value instanceof List && !(value instanceof PrimitiveArray)) {
+      for (final Object member : (List<?>)value)
+        validate(member);
     }
   }
 
@@ -55,18 +397,134 @@ public abstract class JSObject extends JSObjectBase implements Cloneable {
 
   protected abstract String _getPath();
 
-  protected String _encode(final int depth) {
-    return "";
+  /**
+   * Writes the members of this object, without the enclosing braces.
+   *
+   * @param out The writer.
+   * @param depth The depth of the members, or -1 for the external form.
+   * @throws EncodeException If a property is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  protected void _encode(final JsonWriter out, final int depth) throws IOException {
   }
 
   protected abstract String _name();
   protected abstract Binding<?> _getBinding(String name);
   protected abstract Collection<Binding<?>> _bindings();
   protected abstract boolean _skipUnknown();
+
+  /**
+   * Returns the property of the specified name. Generated classes override
+   * this method to dispatch on the name directly, whereas this implementation
+   * resolves the property reflectively via {@link #_getBinding(String)}.
+   *
+   * @param name The name of the property.
+   * @return The property of the specified name, or {@code null} if there is no
+   *         such property.
+   */
+  protected Property<?> _getProperty(final String name) {
+    final Binding<?> binding = _getBinding(name);
+    return binding == null ? null : getProperty(binding, this);
+  }
+
+  /**
+   * Returns the property named by the current string token of the specified
+   * tokenizer. Generated classes override this method to match the name
+   * against the chars of the token in place, whereas this implementation
+   * delegates to {@link #_getProperty(String)}.
+   *
+   * @param tokenizer The tokenizer positioned at a property name.
+   * @return The property named by the current string token, or {@code null}
+   *         if there is no such property.
+   * @throws DecodeException If the name contains an unterminated escape
+   *           sequence.
+   * @throws IOException If an I/O error has occurred.
+   */
+  protected Property<?> _getProperty(final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    return _getProperty(tokenizer.getString());
+  }
+
+  /**
+   * Checks the "required" and "null" constraints of all properties, after the
+   * decode of this object. Generated classes override this method to check
+   * each property directly, whereas this implementation resolves the
+   * properties reflectively via {@link #_bindings()}.
+   *
+   * @param tokenizer The tokenizer at the end of this object.
+   * @throws DecodeException If a constraint is violated.
+   * @throws IOException If an I/O error has occurred.
+   */
+  protected void _checkRequired(final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    for (final Binding<?> binding : _bindings())
+      checkRequired(getProperty(binding, this), tokenizer);
+  }
+
+  /**
+   * Clears all properties of this object, for it to be reused as the target
+   * of {@link #parseInto(Reader,JSObject)}. The objects that are the values
+   * of the properties, or the elements of their arrays, and the storage of
+   * their primitive arrays, are retained, and are reset and reused by the
+   * next decode into this object, so they must not be used after this object
+   * is reset. Generated classes override this method to reset each
+   * property directly, whereas this implementation resolves the properties
+   * reflectively via {@link #_bindings()}.
+   */
+  public void reset() {
+    final Collection<Binding<?>> bindings = _bindings();
+    if (bindings != null)
+      for (final Binding<?> binding : bindings)
+        reset(getProperty(binding, this));
+  }
+
   protected abstract JSBundle _bundle();
 
+  /**
+   * Decodes and validates the values of all properties that were deferred by
+   * {@link #parseLazy(Class,byte[])}, in this object and the objects within
+   * it.
+   *
+   * @throws DecodeException If a value is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public void validate() throws DecodeException, IOException {
+    for (final Binding<?> binding : _bindings()) {
+      final Property<?> property = getProperty(binding, this);
+      property.resolve();
+      validate(property.get());
+    }
+  }
+
   @Override
   public abstract JSObject clone();
 
   public abstract java.lang.String toExternalForm();
+
+  /**
+   * Writes the external form of this object to the specified writer, as it
+   * is encoded, without first encoding it as a {@link String}. The writer is
+   * flushed, but not closed.
+   *
+   * @param writer The writer.
+   * @throws EncodeException If a property is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public void writeTo(final Writer writer) throws IOException {
+    final JsonWriter out = new JsonWriter(writer);
+    encode(out, this, -1);
+    out.flush();
+  }
+
+  /**
+   * Writes the external form of this object to the specified stream as
+   * UTF-8, as it is encoded. The stream is flushed, but not closed.
+   *
+   * @param out The stream.
+   * @throws EncodeException If a property is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public void writeTo(final OutputStream out) throws IOException {
+    final JsonWriter writer = new JsonWriter(out);
+    encode(writer, this, -1);
+    writer.flush();
+  }
 }
\ No newline at end of file
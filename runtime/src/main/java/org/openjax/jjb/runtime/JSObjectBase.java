@@ -17,12 +17,16 @@
 package org.openjax.jjb.runtime;
 
 import java.io.IOException;
-import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.openjax.standard.util.FastArrays;
-import org.openjax.standard.util.FastCollections;
 import org.openjax.jjb.runtime.decoder.BooleanDecoder;
+import org.openjax.jjb.runtime.decoder.Decoder;
 import org.openjax.jjb.runtime.decoder.JSObjectDecoder;
 import org.openjax.jjb.runtime.decoder.NumberDecoder;
 import org.openjax.jjb.runtime.decoder.ObjectDecoder;
@@ -39,56 +43,61 @@ public abstract class JSObjectBase {
     property.clone(clone);
   }
 
+  protected static void reset(final Property<?> property) {
+    property.reset();
+  }
+
   protected static <T>T encode(final Property<T> property) throws EncodeException {
     return property.encode();
   }
 
-  protected static <T>void decode(final Property<T> property, final JsonReader reader) throws DecodeException, IOException {
-    property.decode(reader);
+  protected static <T>void decode(final Property<T> property, final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    property.decode(tokenizer);
   }
 
-  protected static char next(final Reader reader) throws IOException {
-    int ch;
-    while (true) {
-      if ((ch = reader.read()) == -1)
-        throw new IOException("EOS");
-
-      if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r')
-        return (char)ch;
-    }
+  private static boolean isSkippable(final char ch) {
+    return ch == '{' || ch == '[' || ch == '"' || ch == '-' || '0' <= ch && ch <= '9' || ch == 't' || ch == 'f' || ch == 'n';
   }
 
-  protected static char nextAny(final Reader reader) throws IOException {
-    final int ch = reader.read();
-    if (ch == -1)
-      throw new IOException("EOS");
+  protected static boolean isNull(final char ch, final JsonTokenizer tokenizer) {
+    return ch == 'n' && tokenizer.matches("null");
+  }
 
-    return (char)ch;
+  /**
+   * Checks that the specified property satisfies the "required" and "null"
+   * constraints of its binding, after the decode of its enclosing object.
+   */
+  protected static void checkRequired(final Property<?> property, final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    final Binding<?> binding = property.binding;
+    if (binding.required == Required.TRUE || binding.required == Required.DECODE) {
+      if (!property.present())
+        throw new DecodeException("\"" + binding.name + "\" is required", tokenizer);
+
+      if (binding.notNull && property.isNull())
+        throw new DecodeException("\"" + binding.name + "\" cannot be null", tokenizer);
+    }
+    else if (property.present() && binding.notNull && property.isNull()) {
+      throw new DecodeException("\"" + binding.name + "\" cannot be null", tokenizer);
+    }
   }
 
-  protected static boolean isNull(char ch, final Reader reader) throws IOException {
-    if (ch != 'n')
-      return false;
+  static Decoder<?> getDecoder(final Class<?> type) {
+    if (type == null)
+      return objectDecoder;
 
-    reader.mark(1);
-    if (next(reader) != 'u') {
-      reader.reset();
-      return false;
-    }
+    if (JSObject.class.isAssignableFrom(type))
+      return jsObjectDecoder;
 
-    reader.mark(1);
-    if (next(reader) != 'l') {
-      reader.reset();
-      return false;
-    }
+    if (type == String.class)
+      return stringDecoder;
 
-    reader.mark(1);
-    if (next(reader) != 'l') {
-      reader.reset();
-      return false;
-    }
+    if (type == Boolean.class)
+      return booleanDecoder;
 
-    return true;
+    if (Number.class.isAssignableFrom(type))
+      return numberDecoder;
+
+    return null;
   }
 
   protected static boolean required(final Property<?> property) {
@@ -100,132 +109,463 @@ public abstract class JSObjectBase {
   }
 
   protected static String encode(final JSObject object, final int depth) {
-    if (object instanceof JSArray)
-      return object._encode(depth);
+    final JsonWriter out = new JsonWriter();
+    try {
+      encode(out, object, depth);
+    }
+    catch (final IOException e) {
+      // A writer that retains its output in memory does not throw
+      throw new UncheckedIOException(e);
+    }
 
-    if (depth == -1)
-      return "{" + object._encode(depth) + "}";
+    return out.toString();
+  }
 
-    final StringBuilder builder = new StringBuilder("{\n");
-    builder.append(object._encode(depth)).append("\n").append(pad(depth - 1)).append('}');
-    return builder.toString();
+  /**
+   * Writes the specified object, at the specified depth of indentation, or
+   * in its external form if the depth is -1.
+   *
+   * @param out The writer.
+   * @param object The object.
+   * @param depth The depth of the members of the object, or -1.
+   * @throws EncodeException If a property of the object is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  protected static void encode(final JsonWriter out, final JSObject object, final int depth) throws IOException {
+    if (object instanceof JSArray) {
+      object._encode(out, depth);
+    }
+    else if (depth == -1) {
+      out.write('{');
+      object._encode(out, depth);
+      out.write('}');
+    }
+    else {
+      out.write("{\n");
+      object._encode(out, depth);
+      out.write('\n');
+      out.writePad(depth - 1);
+      out.write('}');
+    }
   }
 
-  protected static String toString(final Object part, final int depth) {
-    return part == null ? "null" : part instanceof JSObject ? encode((JSObject)part, depth) : part instanceof String ? "\"" + part + "\"" : String.valueOf(part);
+  /**
+   * Writes the value of the specified property, as per
+   * {@link #encode(Property)}, at the specified depth.
+   */
+  protected static void encode(final JsonWriter out, final Property<?> property, final int depth) throws IOException {
+    property.encode(out, depth);
   }
 
-  protected static Object decodeValue(final char ch, final JsonReader reader, final Class<?> type, final Binding<?> binding) throws DecodeException, IOException {
-    final boolean isArray = ch == '[';
-    if (type == null)
-      return isArray ? FastCollections.asCollection(new JSArray<>(), objectDecoder.recurse(reader, 0, binding)) : objectDecoder.decode(reader, ch, binding);
+  /**
+   * Writes the delimiter that precedes a member of an object, and its name.
+   *
+   * @param out The writer.
+   * @param first Whether the member is the first of the object.
+   * @param name The name of the member.
+   * @param depth The depth of the members of the object, or -1.
+   * @throws IOException If an I/O error has occurred.
+   */
+  protected static void member(final JsonWriter out, final boolean first, final String name, final int depth) throws IOException {
+    if (!first)
+      out.write(depth > -1 ? ",\n" : ",");
+
+    out.writePad(depth);
+    out.write('"');
+    out.write(name);
+    out.write(depth > -1 ? "\": " : "\":");
+  }
 
-    if (JSObject.class.isAssignableFrom(type))
-      return isArray ? FastCollections.asCollection(new JSArray<JSObject>(), jsObjectDecoder.recurse(reader, 0, binding)) : jsObjectDecoder.decode(reader, ch, binding);
+  static void write(final JsonWriter out, final Object part, final int depth) throws IOException {
+    if (part == null) {
+      out.write("null");
+    }
+    else if (part instanceof JSObject) {
+      encode(out, (JSObject)part, depth);
+    }
+    else if (part instanceof String) {
+      out.write('"');
+      out.write((String)part);
+      out.write('"');
+    }
+    else {
+      out.write(String.valueOf(part));
+    }
+  }
 
-    if (type == String.class)
-      return isArray ? FastCollections.asCollection(new JSArray<String>(), stringDecoder.recurse(reader, 0, binding)) : stringDecoder.decode(reader, ch, binding);
+  /**
+   * Sentinel returned by {@link Frame#next(JsonTokenizer)} when the frame has
+   * been closed.
+   */
+  private static final Object END = new Object();
+
+  /**
+   * Sentinel returned by {@link Frame#next(JsonTokenizer)} when the value has
+   * been decoded directly into its property.
+   */
+  private static final Object DECODED = new Object();
+
+  /**
+   * A frame of the explicit decode stack, representing an array or object that
+   * has been opened but not yet closed.
+   */
+  private abstract static class Frame {
+    final Frame parent;
+    final int depth;
+
+    Frame(final Frame parent) {
+      this.parent = parent;
+      this.depth = parent == null ? 1 : parent.depth + 1;
+    }
 
-    if (type == Boolean.class)
-      return isArray ? FastCollections.asCollection(new JSArray<Boolean>(), booleanDecoder.recurse(reader, 0, binding)) : booleanDecoder.decode(reader, ch, binding);
+    /**
+     * Accepts the value of the element or member most recently begun in this
+     * frame.
+     */
+    abstract void accept(JsonTokenizer tokenizer, Object value) throws DecodeException, IOException;
+
+    /**
+     * Advances to the next element or member of this frame.
+     *
+     * @return The value of the next element or member, a new {@link Frame} if
+     *         the value is an array or object, {@link #DECODED} if the value
+     *         has been decoded directly into its property, or {@link #END} if
+     *         this frame has been closed.
+     */
+    abstract Object next(JsonTokenizer tokenizer) throws DecodeException, IOException;
+
+    /**
+     * @return The value of this frame, after it has been closed.
+     */
+    abstract Object close(JsonTokenizer tokenizer) throws DecodeException, IOException;
+  }
 
-    if (Number.class.isAssignableFrom(type))
-      return isArray ? FastCollections.asCollection(new JSArray<Number>(), numberDecoder.recurse(reader, 0, binding)) : numberDecoder.decode(reader, ch, binding);
+  private static final class ArrayFrame extends Frame {
+    private final Binding<?> binding;
+    private final Projection projection;
+    private PrimitiveArray<?> primitive;
+    private JSArray<Object> array;
+    /** The elements of a previous decode, to be reused by index */
+    private final List<?> recycled;
+    private int index;
+    private int end = Integer.MAX_VALUE;
+
+    /**
+     * @param recycled A value of a previous decode, the primitive storage or
+     *          object elements of which are reused, or {@code null}.
+     */
+    ArrayFrame(final Frame parent, final Binding<?> binding, final Projection projection, final Object recycled) {
+      super(parent);
+      this.binding = binding;
+      this.projection = projection;
+      this.primitive = binding.array ? PrimitiveArray.forType(binding.type, binding.int32, recycled) : null;
+      this.array = primitive == null ? new JSArray<>() : null;
+      this.recycled = primitive == null && recycled instanceof List && !(recycled instanceof PrimitiveArray) ? (List<?>)recycled : null;
+    }
+
+    @Override
+    void accept(final JsonTokenizer tokenizer, final Object value) {
+      // A value without a primitive form, i.e. null, reverts to boxed elements
+      if (array == null) {
+        array = new JSArray<>(primitive);
+        primitive = null;
+      }
+
+      array.add(value);
+    }
+
+    @Override
+    Object next(final JsonTokenizer tokenizer) throws DecodeException, IOException {
+      while (true) {
+        if (index == end)
+          return END;
+
+        char ch;
+        while ((ch = tokenizer.nextToken()) == ',');
+        if (ch == ']')
+          return END;
+
+        if (++index > tokenizer.maxArrayLength)
+          throw new DecodeException("Array length exceeds the limit of " + tokenizer.maxArrayLength, tokenizer);
+
+        if (projection != null && !projection.includes(index - 1)) {
+          tokenizer.skipValue(ch);
+          if (projection.isPast(index)) {
+            // Skip the remaining elements, up to and including the closing "]"
+            tokenizer.skipValue('[');
+            return END;
+          }
 
-    throw new UnsupportedOperationException("Unsupported type: " + type);
+          continue;
+        }
+
+        if (primitive == null || !primitive.addToken(ch, tokenizer))
+          return begin(this, ch, tokenizer, binding, true, projection, recycled != null && array.size() < recycled.size() ? recycled.get(array.size()) : null);
+      }
+    }
+
+    @Override
+    Object close(final JsonTokenizer tokenizer) {
+      return primitive != null ? primitive : array;
+    }
   }
 
-  @SuppressWarnings({"rawtypes", "unchecked"})
-  protected static JSObject decode(final JsonReader reader, char ch, final JSObject jsObject) throws DecodeException, IOException {
-    boolean inObject = false;
-    boolean inQuote = false;
-    final StringBuilder builder = new StringBuilder();
-    while (true) {
-      if (ch == '{') {
-        if (inObject)
-          throw new DecodeException("Malformed JSON", reader);
+  private static final class ObjectFrame extends Frame {
+    private final JSObject jsObject;
+    private final Projection projection;
+    private Property<?> property;
+    private Binding<?> member;
+
+    ObjectFrame(final Frame parent, final JSObject jsObject, final Projection projection) {
+      super(parent);
+      this.jsObject = jsObject;
+      this.projection = projection;
+    }
+
+    @Override
+    void accept(final JsonTokenizer tokenizer, final Object value) throws DecodeException, IOException {
+      if (property != null)
+        property.accept(value, tokenizer);
+    }
+
+    @Override
+    Object next(final JsonTokenizer tokenizer) throws DecodeException, IOException {
+      char ch = tokenizer.nextToken();
+      if (member != null && ch != ',' && ch != '}')
+        throw new DecodeException("Expected \",\" or \"}\" but found \"" + tokenizer.getText() + "\"", tokenizer);
+
+      // Extra commas are skipped, as they are in an array
+      while (ch == ',')
+        ch = tokenizer.nextToken();
+
+      if (ch == '}')
+        return END;
+
+      if (ch != '"')
+        throw new DecodeException("Expected property name but found \"" + tokenizer.getText() + "\"", tokenizer);
+
+      // Special case for parsing the container object
+      property = jsObject == null ? null : jsObject._getProperty(tokenizer);
+      final String unknown = property == null && jsObject != null && !jsObject._skipUnknown() ? tokenizer.getString() : null;
+      if (tokenizer.nextToken() != ':')
+        throw new DecodeException("Expected \":\" character", tokenizer);
+
+      if (unknown != null)
+        throw new DecodeException("Unknown property name: " + unknown, tokenizer);
+
+      member = property != null ? property.binding : Binding.ANY;
+
+      ch = tokenizer.nextToken();
+      if (property != null) {
+        if (projection != null && !projection.includes(member.name)) {
+          // The value of an excluded property is skipped without being decoded
+          // or validated
+          tokenizer.skipValue(ch);
+          member = Binding.ANY;
+          return DECODED;
+        }
 
-        inObject = true;
+        if (property.decodeToken(ch, tokenizer) || tokenizer.isLazy() && property.defer(ch, (Utf8JsonTokenizer)tokenizer))
+          return DECODED;
+      }
+      else if (jsObject != null && isSkippable(ch)) {
+        // The value of an unknown property is skipped without being decoded
+        tokenizer.skipValue(ch);
+        return DECODED;
+      }
+
+      return begin(this, ch, tokenizer, member, false, projection == null ? null : projection.get(member.name), property != null ? property.recycle() : null);
+    }
+
+    @Override
+    Object close(final JsonTokenizer tokenizer) throws DecodeException, IOException {
+      if (jsObject == null || tokenizer.validation == DecodeOptions.Validation.NONE)
+        return jsObject;
+
+      if (projection == null || !projection.isPartial()) {
+        jsObject._checkRequired(tokenizer);
       }
       else {
-        if (!inObject && isNull(ch, reader))
-          return null;
+        for (final String name : projection.names()) {
+          final Property<?> property = jsObject._getProperty(name);
+          if (property != null)
+            checkRequired(property, tokenizer);
+        }
+      }
+
+      return jsObject;
+    }
+  }
+
+  static Property<?> getProperty(final Binding<?> binding, final JSObject jsObject) {
+    try {
+      return (Property<?>)binding.property.get(jsObject);
+    }
+    catch (final IllegalAccessException e) {
+      throw new UnsupportedOperationException(e);
+    }
+  }
+
+  private static final ClassValue<Supplier<? extends JSObject>> factories = new ClassValue<Supplier<? extends JSObject>>() {
+    @Override
+    protected Supplier<? extends JSObject> computeValue(final Class<?> type) {
+      final Supplier<? extends JSObject> factory = JSBundle.getFactory(type);
+      if (factory != null)
+        return factory;
 
+      final MethodHandle constructor;
+      try {
+        constructor = MethodHandles.lookup().unreflectConstructor(type.getDeclaredConstructor()).asType(MethodType.methodType(JSObject.class));
+      }
+      catch (final IllegalAccessException | NoSuchMethodException e) {
+        throw new UnsupportedOperationException(e);
+      }
+
+      return () -> {
         try {
-          if (ch == '"') {
-            if (!inQuote) {
-              inQuote = true;
-            }
-            else {
-              inQuote = false;
-              ch = next(reader);
-              if (ch != ':')
-                throw new DecodeException("Expected \":\" character", reader);
-
-              // Special case for parsing the container object
-              Binding<?> member = jsObject == null ? Binding.ANY : jsObject._getBinding(builder.toString());
-              if (member == null) {
-                if (jsObject._skipUnknown())
-                  member = Binding.ANY;
-                else
-                  throw new DecodeException("Unknown property name: " + builder, reader);
-              }
-
-              builder.setLength(0);
-              ch = next(reader);
-
-              final Object value = decodeValue(ch, reader, member.type, member);
-
-              if ((member.required == Required.TRUE || member.required == Required.DECODE) && member.notNull && value == null)
-                throw new DecodeException("\"" + member.name + "\" cannot be null", reader);
-
-              if (member != Binding.ANY) {
-                final Property property = (Property)member.property.get(jsObject);
-                if (!property.binding.isAssignable(value))
-                  throw new DecodeException("\"" + property.binding.name + "\": " + property.binding.type.getName() + " incompatible with " + (property.binding.array ? List.class.getName() + "<" + value.getClass().getName() + ">" : value.getClass().getName()), reader);
-
-                property.set(value);
-                property.decode(reader);
-              }
-            }
-          }
-          else {
-            if (ch == '}') {
-              if (jsObject == null)
-                return null;
-
-              for (final Binding<?> binding : jsObject._bindings()) {
-                final Property<?> property = (Property<?>)binding.property.get(jsObject);
-                if (binding.required == Required.TRUE || binding.required == Required.DECODE) {
-                  if (!property.present())
-                    throw new DecodeException("\"" + binding.name + "\" is required", reader);
-
-                  if (binding.notNull && property.get() == null)
-                    throw new DecodeException("\"" + binding.name + "\" cannot be null", reader);
-                }
-                else if (property.present() && binding.notNull && property.get() == null) {
-                  throw new DecodeException("\"" + binding.name + "\" cannot be null", reader);
-                }
-              }
-
-              return jsObject;
-            }
-
-            if (ch == '[')
-              return (JSArray)decodeValue(ch, reader, null, Binding.ANY);
-
-            if (ch != ',')
-              builder.append(ch);
-            else if (!inQuote && builder.length() > 0)
-              throw new DecodeException("Expected \"{}\" but found \"" + builder + "\"", reader);
-          }
+          return (JSObject)constructor.invokeExact();
         }
-        catch (final IllegalAccessException e) {
-          throw new UnsupportedOperationException(e);
+        catch (final RuntimeException | Error e) {
+          throw e;
         }
+        catch (final Throwable t) {
+          throw new UnsupportedOperationException(t);
+        }
+      };
+    }
+  };
+
+  /**
+   * Creates a new instance of the specified class, with the factory registered
+   * by its {@link JSBundle}, or else with a {@link MethodHandle} of its no-arg
+   * constructor. Either is resolved once per class.
+   *
+   * @param type The class.
+   * @return A new instance of the specified class.
+   */
+  protected static JSObject newInstance(final Class<?> type) {
+    return factories.get(type).get();
+  }
+
+  /**
+   * Begins the decode of a value with the decoder of the specified binding.
+   * Scalars are decoded directly, whereas arrays and objects are opened as a
+   * new {@link Frame} on top of {@code parent}, to be completed by
+   * {@link #run(Frame, JsonTokenizer)}.
+   *
+   * @param element Whether the value is an element of an array, as opposed to
+   *          the value of a member.
+   * @param projection The projection of the value, or {@code null} if the
+   *          value is decoded whole.
+   * @param recycled The value of a previous decode in the same place, to be
+   *          reset and reused if it is an object or array of the type of the
+   *          binding, or {@code null}.
+   * @return The value, or a new {@link Frame}.
+   */
+  private static Object begin(final Frame parent, final char ch, final JsonTokenizer tokenizer, final Binding<?> binding, final boolean element, final Projection projection, final Object recycled) throws DecodeException, IOException {
+    final Decoder<?> decoder = binding.decoder;
+    if (ch == '[') {
+      if (!element)
+        return new ArrayFrame(parent, binding, projection, recycled);
+
+      if (decoder == objectDecoder || decoder == jsObjectDecoder)
+        return new ArrayFrame(parent, Binding.ANY, projection, recycled);
+    }
+
+    if (decoder == jsObjectDecoder) {
+      if (ch == '{') {
+        if (recycled == null || recycled.getClass() != binding.type)
+          return new ObjectFrame(parent, newInstance(binding.type), projection);
+
+        ((JSObject)recycled).reset();
+        return new ObjectFrame(parent, (JSObject)recycled, projection);
+      }
+
+      if (isNull(ch, tokenizer))
+        return null;
+
+      throw new DecodeException("Expected \"{}\" but found \"" + tokenizer.getText() + "\"", tokenizer);
+    }
+
+    if (decoder == objectDecoder && ch == '{')
+      return new ObjectFrame(parent, null, null);
+
+    if (decoder == null)
+      throw new UnsupportedOperationException("Unsupported type: " + binding.type);
+
+    return decoder.decode(tokenizer, ch, binding);
+  }
+
+  /**
+   * Completes the decode of the specified frame, and of all frames opened
+   * within it, with an explicit stack rather than recursion, so that the
+   * depth of the call stack is constant regardless of the length or nesting
+   * of the input.
+   */
+  private static Object run(Frame frame, final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    final Frame root = frame;
+    if (root.depth > tokenizer.maxDepth)
+      throw new DecodeException("Depth exceeds the limit of " + tokenizer.maxDepth, tokenizer);
+
+    while (true) {
+      final Object value = frame.next(tokenizer);
+      if (value instanceof Frame) {
+        frame = (Frame)value;
+        if (frame.depth > tokenizer.maxDepth)
+          throw new DecodeException("Depth exceeds the limit of " + tokenizer.maxDepth, tokenizer);
+      }
+      else if (value == END) {
+        final Object closed = frame.close(tokenizer);
+        if (frame == root)
+          return closed;
+
+        frame = frame.parent;
+        frame.accept(tokenizer, closed);
       }
+      else if (value != DECODED) {
+        frame.accept(tokenizer, value);
+      }
+    }
+  }
+
+  protected static Object decodeValue(final char ch, final JsonTokenizer tokenizer, final Binding<?> binding) throws DecodeException, IOException {
+    return decodeValue(ch, tokenizer, binding, null);
+  }
+
+  static Object decodeValue(final char ch, final JsonTokenizer tokenizer, final Binding<?> binding, final Projection projection) throws DecodeException, IOException {
+    final Object value = begin(null, ch, tokenizer, binding, false, projection, null);
+    return value instanceof Frame ? run((Frame)value, tokenizer) : value;
+  }
 
-      ch = next(reader);
+  /**
+   * Decodes the elements {@code [from, to)} of a top-level array, the first of
+   * which begins at the next token, as the elements of a root array frame, so
+   * that their indices and depth are those of the decode of the whole array.
+   *
+   * @return The {@link JSArray} of the elements.
+   */
+  static Object decodeElements(final JsonTokenizer tokenizer, final Binding<?> binding, final Projection projection, final int from, final int to) throws DecodeException, IOException {
+    final ArrayFrame frame = new ArrayFrame(null, binding, projection, null);
+    frame.index = from;
+    frame.end = to;
+    return run(frame, tokenizer);
+  }
+
+  protected static JSObject decode(final JsonTokenizer tokenizer, final char ch, final JSObject jsObject) throws DecodeException, IOException {
+    return decode(tokenizer, ch, jsObject, null);
+  }
+
+  static JSObject decode(final JsonTokenizer tokenizer, final char ch, final JSObject jsObject, final Projection projection) throws DecodeException, IOException {
+    if (ch != '{') {
+      if (isNull(ch, tokenizer))
+        return null;
+
+      if (ch == '[')
+        return (JSArray<?>)decodeValue(ch, tokenizer, Binding.ANY, projection);
+
+      throw new DecodeException("Expected \"{}\" but found \"" + tokenizer.getText() + "\"", tokenizer);
     }
+
+    return (JSObject)run(new ObjectFrame(null, jsObject, projection), tokenizer);
   }
 }
\ No newline at end of file
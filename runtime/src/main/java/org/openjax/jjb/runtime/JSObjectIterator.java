@@ -0,0 +1,114 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * {@link Iterator} of a sequence of top-level JSON objects, such as JSON Lines
+ * (NDJSON), or documents that are concatenated with or without whitespace
+ * between them. Each document is decoded as an object of the type only when
+ * it is requested, and all documents are decoded by the same tokenizer and
+ * its buffers. The limits of the options, other than
+ * {@link DecodeOptions#getMaxInputLength()}, apply to each document. Decode
+ * errors are thrown by {@link #hasNext()} and {@link #next()} as an
+ * {@link IllegalStateException}, the cause of which is the
+ * {@link DecodeException} or {@link IOException}.
+ *
+ * @param <T> The type of the objects.
+ */
+public class JSObjectIterator<T extends JSObject> implements Iterator<T>, Closeable {
+  private final Class<T> type;
+  private final JsonTokenizer tokenizer;
+  private final Closeable source;
+  private final Projection projection;
+  private boolean pending;
+  private boolean done;
+
+  JSObjectIterator(final Class<T> type, final JsonTokenizer tokenizer, final Closeable source, final DecodeOptions options) throws DecodeException, IOException {
+    this.type = type;
+    this.tokenizer = tokenizer;
+    this.source = source;
+    this.projection = options.getProjection();
+    tokenizer.setOptions(options);
+  }
+
+  @Override
+  public boolean hasNext() {
+    if (!pending && !done) {
+      try {
+        if (tokenizer.isEnd())
+          done = true;
+        else
+          pending = true;
+      }
+      catch (final DecodeException | IOException e) {
+        throw new IllegalStateException(e.getMessage(), e);
+      }
+    }
+
+    return !done;
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public T next() {
+    if (!hasNext())
+      throw new NoSuchElementException();
+
+    pending = false;
+    try {
+      final char ch = tokenizer.nextToken();
+      if (ch != '{')
+        throw new DecodeException("Expected \"{\" but found \"" + tokenizer.getText() + "\"", tokenizer);
+
+      return (T)JSObjectBase.decode(tokenizer, ch, JSObjectBase.newInstance(type), projection);
+    }
+    catch (final DecodeException | IOException e) {
+      throw new IllegalStateException(e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @return A sequential {@link Stream} of the remaining objects, which closes
+   *         this iterator when it is closed.
+   */
+  public Stream<T> stream() {
+    return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED | Spliterator.NONNULL), false).onClose(() -> {
+      try {
+        close();
+      }
+      catch (final IOException e) {
+        throw new UncheckedIOException(e);
+      }
+    });
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (source != null)
+      source.close();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,110 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+/**
+ * Scratch state of a decode, which is reused by successive documents rather
+ * than being allocated for each: the input buffer of the tokenizer, the ring
+ * of recent input for the context of errors, the buffer into which escaped
+ * strings are unescaped, and the {@link StringCache} of the tokenizer.
+ * <p>
+ * The {@code parse} methods of {@link JSObject} that are not provided a
+ * context use a context that is cached per thread. A context may instead be
+ * pooled, such as for threads that are too many or too short-lived for a
+ * context per thread, and provided explicitly. A context must not be used by
+ * more than one decode at a time. The buffers of a context are not retained
+ * beyond their default sizes if a document grows them, so the memory held
+ * by a context is bounded.
+ */
+public final class JsonContext {
+  /** The maximum size of the scratch buffer that is retained */
+  private static final int MAX_SCRATCH_SIZE = 1 << 16;
+  private static final ThreadLocal<JsonContext> current = ThreadLocal.withInitial(JsonContext::new);
+
+  /**
+   * @return The context of the current thread, or a new context if that of
+   *         the current thread is in use by an enclosing decode.
+   */
+  static JsonContext get() {
+    final JsonContext context = current.get();
+    return context.inUse ? new JsonContext() : context;
+  }
+
+  final StringCache strings = new StringCache();
+  private byte[] bytes;
+  private char[] chars;
+  private char[] window;
+  private char[] scratch;
+  private boolean inUse;
+
+  /**
+   * Marks this context as in use by a decode.
+   *
+   * @throws IllegalStateException If this context is already in use.
+   */
+  void acquire() {
+    if (inUse)
+      throw new IllegalStateException("JsonContext is in use by another decode");
+
+    inUse = true;
+  }
+
+  /**
+   * Marks this context as free for the next decode. The contents of its
+   * buffers are not cleared, as each decode overwrites what it reads.
+   */
+  void release() {
+    inUse = false;
+  }
+
+  /**
+   * @return The input buffer of a {@link Utf8JsonTokenizer}.
+   */
+  byte[] bytes() {
+    return bytes == null ? bytes = new byte[JsonTokenizer.DEFAULT_BUFFER_SIZE] : bytes;
+  }
+
+  /**
+   * @return The input buffer of a {@link CharJsonTokenizer}.
+   */
+  char[] chars() {
+    return chars == null ? chars = new char[JsonTokenizer.DEFAULT_BUFFER_SIZE] : chars;
+  }
+
+  /**
+   * @return The ring of recent input of a bounded {@link InputHistory}.
+   */
+  char[] window() {
+    return window == null ? window = new char[InputHistory.DEFAULT_WINDOW] : window;
+  }
+
+  /**
+   * @param length The minimum length.
+   * @return A buffer of at least the specified length, the contents of which
+   *         are undefined.
+   */
+  char[] scratch(final int length) {
+    if (scratch != null && scratch.length >= length)
+      return scratch;
+
+    final char[] chars = new char[Math.max(length, 256)];
+    if (length <= MAX_SCRATCH_SIZE)
+      scratch = chars;
+
+    return chars;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Writer of {@link JSObject}s as JSON Lines (NDJSON): the external form of
+ * each object followed by {@code '\n'}. Each object is encoded straight into
+ * the UTF-8 buffer of a {@link JsonWriter}, which is written to the
+ * underlying stream only when it is full, or when this writer is flushed or
+ * closed.
+ */
+public class JsonLinesWriter implements Closeable, Flushable {
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+
+  /**
+   * Encodes the specified object as one line, such as for a reactive stream
+   * of encoded chunks, in which one object is encoded for each chunk that is
+   * requested.
+   *
+   * @param object The object.
+   * @return A new {@link ByteBuffer} of the line.
+   */
+  public static ByteBuffer encode(final JSObject object) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (final JsonLinesWriter writer = new JsonLinesWriter(out, 256)) {
+      writer.write(object);
+    }
+    catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+
+    return ByteBuffer.wrap(out.toByteArray());
+  }
+
+  private final JsonWriter out;
+
+  public JsonLinesWriter(final OutputStream out) {
+    this(out, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * @param out The underlying stream.
+   * @param bufferSize The size of the buffer, which must be at least 4.
+   */
+  public JsonLinesWriter(final OutputStream out, final int bufferSize) {
+    this.out = new JsonWriter(out, bufferSize);
+  }
+
+  /**
+   * Writes the specified object as one line.
+   *
+   * @param object The object.
+   * @throws EncodeException If a property of the object is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public void write(final JSObject object) throws IOException {
+    JSObjectBase.encode(out, object, -1);
+    out.write('\n');
+  }
+
+  @Override
+  public void flush() throws IOException {
+    out.flush();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,397 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * Incremental parser of UTF-8 JSON that is pushed chunks of input with
+ * {@link #feed(ByteBuffer)} as they arrive, such as from a non-blocking
+ * channel, and never blocks for more. The input is a sequence of one or more
+ * top-level objects or arrays, optionally separated by whitespace. Each is
+ * decoded as {@link JSObject#parse(Class,byte[],DecodeOptions)} would decode
+ * it, and is passed to the consumer as soon as its last byte has been fed.
+ * If the parser is created for elements, the input is instead a sequence of
+ * top-level arrays, and each of their elements is decoded as a value of the
+ * type, such as a {@link JSObject}, a {@link String} or a {@link Long}, and is
+ * passed to the consumer on its own.
+ * <p>
+ * Between chunks, the parser keeps the bytes of the document in progress, and
+ * the state of a scan of its structure: the depth of nesting, and whether the
+ * last byte was within a string or an escape sequence. A document is decoded
+ * only once it is complete, so that no decode is ever suspended in the middle
+ * of a token. The memory of the parser is therefore O(document): it holds the
+ * whole of the largest top-level object or array, however large, and its
+ * buffer is not shrunk afterwards. Only if the parser is created for elements
+ * is its memory O(element), as it holds the element in progress rather than
+ * the whole top-level array. The limit of
+ * {@link DecodeOptions#getMaxInputLength()} applies to each document, or to
+ * each element, which bounds the memory held by the parser.
+ * <p>
+ * The demand of the parser is unbounded unless it is created with a demand
+ * of 0, in which case it passes only as many documents to the consumer as
+ * have been requested with {@link #request(long)}. The bytes after the last
+ * requested document are kept until more are requested, and
+ * {@link #needsInput()} tells when the next chunk should be fed, such that
+ * the memory of the parser remains bounded under backpressure.
+ *
+ * @param <T> The type of the decoded objects, or of the elements of top-level
+ *          arrays, which need not be objects.
+ */
+public class JsonPushParser<T> {
+  private static final int DEFAULT_BUFFER_SIZE = 4096;
+
+  private final Class<?> type;
+  private final DecodeOptions options;
+  private final Consumer<? super T> consumer;
+  /** The binding of the elements of top-level arrays, or null */
+  private final Binding<?> elements;
+  private byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+  private int limit;
+  private int scan;
+  /** The start of the document in progress, or -1 if there is none */
+  private int start = -1;
+  private int depth;
+  private boolean string;
+  private boolean escape;
+  private boolean scalar;
+  private boolean separated = true;
+  private int index;
+  private long demand;
+  private boolean ended;
+  private boolean done;
+
+  /**
+   * @param type The class of the objects, or of the elements of top-level
+   *          arrays.
+   * @param consumer The consumer of the decoded objects.
+   */
+  public JsonPushParser(final Class<?> type, final Consumer<? super T> consumer) {
+    this(type, DecodeOptions.DEFAULT, false, Long.MAX_VALUE, consumer);
+  }
+
+  public JsonPushParser(final Class<?> type, final DecodeOptions options, final Consumer<? super T> consumer) {
+    this(type, options, false, Long.MAX_VALUE, consumer);
+  }
+
+  /**
+   * @param type The class of the objects, or of the elements of top-level
+   *          arrays.
+   * @param options The options of the decode.
+   * @param elements If {@code true}, the input is a sequence of top-level
+   *          arrays, the elements of which are passed to the consumer, with
+   *          {@code null} for a {@code null} element.
+   * @param demand The initial demand, which is {@link Long#MAX_VALUE} for an
+   *          unbounded demand.
+   * @param consumer The consumer of the decoded objects.
+   * @throws IllegalArgumentException If {@code demand} is negative, or if
+   *           {@code type} is not a {@link JSObject} and {@code elements} is
+   *           {@code false}.
+   */
+  public JsonPushParser(final Class<?> type, final DecodeOptions options, final boolean elements, final long demand, final Consumer<? super T> consumer) {
+    if (demand < 0)
+      throw new IllegalArgumentException("demand (" + demand + ") must be non-negative");
+
+    if (!elements && !JSObject.class.isAssignableFrom(type))
+      throw new IllegalArgumentException("type (" + type.getName() + ") must be a JSObject, unless elements is true");
+
+    this.type = type;
+    this.options = options;
+    this.consumer = consumer;
+    this.elements = elements ? new Binding<>(null, null, type, false, false, Required.FALSE, false) : null;
+    this.demand = demand;
+  }
+
+  /**
+   * Adds to the demand of this parser, and passes the documents that are
+   * completed by the bytes that have already been fed to the consumer, up to
+   * the new demand.
+   *
+   * @param n The number of documents to add to the demand.
+   * @throws DecodeException If a document is invalid, or exceeds a limit of
+   *           the options.
+   * @throws IOException If the input has ended with an incomplete document.
+   */
+  public void request(final long n) throws DecodeException, IOException {
+    if (n <= 0)
+      throw new IllegalArgumentException("n (" + n + ") must be positive");
+
+    demand = demand + n < 0 ? Long.MAX_VALUE : demand + n;
+    scan();
+    if (ended)
+      finish();
+  }
+
+  /**
+   * @return Whether all of the bytes that have been fed have been scanned,
+   *         and there is demand for more documents, such that the next chunk
+   *         of the input should be fed.
+   */
+  public boolean needsInput() {
+    return !ended && scan == limit && demand > 0;
+  }
+
+  /**
+   * @return Whether the input has ended, and all of its documents have been
+   *         passed to the consumer.
+   */
+  public boolean isDone() {
+    return done;
+  }
+
+  /**
+   * Feeds all remaining bytes of the specified buffer to this parser, and
+   * passes each document that they complete to the consumer, up to the
+   * demand of this parser.
+   *
+   * @param chunk The next chunk of the input.
+   * @throws DecodeException If a document is invalid, or exceeds a limit of
+   *           the options.
+   * @throws IOException If an I/O error has occurred.
+   * @throws IllegalStateException If {@link #endOfInput()} has been called.
+   */
+  public void feed(final ByteBuffer chunk) throws DecodeException, IOException {
+    if (ended)
+      throw new IllegalStateException("endOfInput() has been called");
+
+    while (chunk.hasRemaining()) {
+      compact();
+      final int length = Math.min(chunk.remaining(), buffer.length - limit);
+      chunk.get(buffer, limit, length);
+      limit += length;
+      scan();
+      if (start != -1 && limit - start > options.getMaxInputLength()) {
+        scan = start;
+        throw error("Input length exceeds the limit of " + options.getMaxInputLength());
+      }
+    }
+  }
+
+  /**
+   * Signals the end of the input. The documents that remain are passed to the
+   * consumer as they are requested.
+   *
+   * @throws DecodeException If the last document is incomplete and invalid.
+   * @throws IOException If the last document is incomplete.
+   */
+  public void endOfInput() throws DecodeException, IOException {
+    if (ended)
+      return;
+
+    ended = true;
+    finish();
+  }
+
+  private void finish() throws DecodeException, IOException {
+    if (done || scan < limit)
+      return;
+
+    // An element that is a scalar is completed only by the end of the input
+    if (scalar) {
+      if (demand == 0)
+        return;
+
+      complete(limit);
+    }
+
+    done = true;
+    if (start != -1)
+      decode(limit);
+
+    if (depth > 0)
+      throw new IOException("EOS");
+  }
+
+  /**
+   * Makes room in the buffer, discarding the bytes before the document in
+   * progress, and growing the buffer only if the document in progress fills
+   * it.
+   */
+  private void compact() {
+    final int from = start != -1 ? start : scan;
+    if (from > 0) {
+      System.arraycopy(buffer, from, buffer, 0, limit - from);
+      limit -= from;
+      scan -= from;
+      if (start != -1)
+        start = 0;
+    }
+
+    if (limit == buffer.length)
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+  }
+
+  /**
+   * Scans the bytes up to the limit of the buffer, and decodes each document
+   * that they complete, while there is demand.
+   */
+  private void scan() throws DecodeException, IOException {
+    while (scan < limit && demand > 0) {
+      if (string) {
+        if (escape) {
+          escape = false;
+          ++scan;
+          continue;
+        }
+
+        if ((scan = StructuralScanner.indexOfQuoteOrBackslash(buffer, scan, limit)) == limit)
+          return;
+
+        if (buffer[scan++] == '"') {
+          string = false;
+          if (elements != null && depth == 1)
+            complete(scan);
+        }
+        else {
+          escape = true;
+        }
+
+        continue;
+      }
+
+      if (scalar) {
+        final byte ch = buffer[scan];
+        if (JsonTokenizer.isNumber(ch) || JsonTokenizer.isLiteral(ch))
+          ++scan;
+        else
+          complete(scan);
+
+        continue;
+      }
+
+      if (depth == 0 || elements != null && depth == 1) {
+        if ((scan = StructuralScanner.skipWhitespace(buffer, scan, limit)) == limit)
+          return;
+
+        if (!begin(buffer[scan]))
+          continue;
+      }
+
+      final byte ch = buffer[scan++];
+      if (ch == '"') {
+        string = true;
+      }
+      else if (ch == '{' || ch == '[') {
+        ++depth;
+      }
+      else if ((ch == '}' || ch == ']') && --depth == (elements == null ? 0 : 1)) {
+        complete(scan);
+      }
+    }
+  }
+
+  /**
+   * Begins the next document, or, for elements, handles the structure of the
+   * top-level arrays around the next element.
+   *
+   * @param ch The next byte that is not whitespace.
+   * @return Whether {@code ch} begins a document to be scanned.
+   */
+  private boolean begin(final byte ch) throws DecodeException, IOException {
+    if (elements == null) {
+      if (ch != '{' && ch != '[')
+        throw expected("Expected \"{\" or \"[\"");
+
+      start = scan;
+      return true;
+    }
+
+    if (depth == 0) {
+      if (ch != '[')
+        throw expected("Expected \"[\"");
+
+      depth = 1;
+      index = 0;
+      separated = true;
+      ++scan;
+      return false;
+    }
+
+    if (ch == ']' && (index == 0 || !separated)) {
+      depth = 0;
+      ++scan;
+      return false;
+    }
+
+    if (!separated) {
+      if (ch != ',')
+        throw expected("Expected \",\" or \"]\"");
+
+      separated = true;
+      ++scan;
+      return false;
+    }
+
+    if (++index > options.getMaxArrayLength())
+      throw error("Array length exceeds the limit of " + options.getMaxArrayLength());
+
+    start = scan;
+    separated = false;
+    if (ch == '"' || ch == '{' || ch == '[')
+      return true;
+
+    scalar = true;
+    ++scan;
+    return false;
+  }
+
+  private DecodeException expected(final String expected) throws IOException {
+    return error(expected + " but found \"" + new String(buffer, scan, 1, StandardCharsets.UTF_8) + "\"");
+  }
+
+  private DecodeException error(final String message) throws IOException {
+    // The token may be incomplete, so only its first byte is reported
+    start = scan;
+    final JsonTokenizer tokenizer = tokenizer(limit);
+    tokenizer.start = scan;
+    tokenizer.end = scan + 1;
+    return new DecodeException(message, tokenizer);
+  }
+
+  private Utf8JsonTokenizer tokenizer(final int end) {
+    return new Utf8JsonTokenizer(buffer, start, start, end, false);
+  }
+
+  private void complete(final int end) throws DecodeException, IOException {
+    scalar = false;
+    if (demand != Long.MAX_VALUE)
+      --demand;
+
+    decode(end);
+    start = -1;
+  }
+
+  @SuppressWarnings("unchecked")
+  private void decode(final int end) throws DecodeException, IOException {
+    if (elements == null) {
+      consumer.accept((T)JSObject.parse(type, tokenizer(end), options));
+      return;
+    }
+
+    final Utf8JsonTokenizer tokenizer = tokenizer(end);
+    tokenizer.setOptions(options);
+    final char ch = tokenizer.nextToken();
+    if (ch == '[')
+      throw new DecodeException("Expected \"{}\" but found \"" + tokenizer.getText() + "\"", tokenizer);
+
+    consumer.accept((T)JSObjectBase.decodeValue(ch, tokenizer, elements, options.getProjection()));
+  }
+}
\ No newline at end of file
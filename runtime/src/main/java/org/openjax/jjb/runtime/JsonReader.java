@@ -16,32 +16,110 @@
 
 package org.openjax.jjb.runtime;
 
+import java.io.FilterReader;
 import java.io.IOException;
 import java.io.Reader;
 
-import org.openjax.standard.io.ReplayReader;
-
-public class JsonReader extends ReplayReader {
+/**
+ * {@link Reader} of JSON text that records the input that has passed through
+ * it, to provide the context of decode errors. By default the whole input is
+ * retained, so that {@link #readFully()} can return the entire document. In
+ * bounded mode, only a ring of the most recent input is kept alongside running
+ * counts of the position and lines, so that the memory used by the reader is
+ * constant regardless of the length of the input.
+ */
+public class JsonReader extends FilterReader {
+  final InputHistory history;
   private String full;
 
   public JsonReader(final Reader in) {
-    super(in);
+    this(in, 32);
   }
 
   public JsonReader(final Reader in, final int size) {
-    super(in, size);
+    super(in);
+    this.history = new InputHistory(size, true, false);
+  }
+
+  /**
+   * @param in The underlying reader.
+   * @param retain If {@code true}, the whole input is retained; otherwise only
+   *          a bounded ring of the most recent input is kept.
+   */
+  public JsonReader(final Reader in, final boolean retain) {
+    super(in);
+    this.history = retain ? new InputHistory(32, true, false) : new InputHistory(InputHistory.DEFAULT_WINDOW, false, false);
+  }
+
+  /**
+   * Creates a bounded reader, the ring of which is that of the specified
+   * context.
+   */
+  JsonReader(final Reader in, final JsonContext context) {
+    super(in);
+    this.history = new InputHistory(context.window(), false, false);
+  }
+
+  @Override
+  public int read() throws IOException {
+    final int ch = in.read();
+    if (ch != -1)
+      history.write(ch);
+
+    return ch;
+  }
+
+  @Override
+  public int read(final char[] cbuf, final int off, final int len) throws IOException {
+    final int read = in.read(cbuf, off, len);
+    if (read > 0)
+      history.write(cbuf, off, read);
+
+    return read;
+  }
+
+  @Override
+  public long skip(final long n) throws IOException {
+    long skipped = 0;
+    for (; skipped < n && read() != -1; ++skipped);
+    return skipped;
+  }
+
+  @Override
+  public boolean markSupported() {
+    return false;
+  }
+
+  @Override
+  public void mark(final int readAheadLimit) throws IOException {
+    throw new IOException("mark() not supported");
+  }
+
+  @Override
+  public void reset() throws IOException {
+    throw new IOException("reset() not supported");
   }
 
   public int getPosition() {
-    return buffer.size();
+    return history.getPosition();
   }
 
+  /**
+   * Reads the remainder of the input, and returns the whole document.
+   *
+   * @return The whole document, or {@code null} if this reader does not
+   *         retain its input.
+   * @throws IOException If an I/O error has occurred.
+   */
   public String readFully() throws IOException {
+    if (!history.isRetained())
+      return null;
+
     if (full != null)
       return full;
 
     for (int i = 0; i != -1; i = read());
 
-    return full = buffer.toString();
+    return full = history.getInput();
   }
 }
\ No newline at end of file
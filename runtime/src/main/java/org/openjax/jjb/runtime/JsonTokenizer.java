@@ -0,0 +1,339 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+
+/**
+ * Pull tokenizer of JSON text. Each call to {@link #nextToken()} advances to
+ * the next token, the extent of which is available via {@link #getStart()}
+ * and {@link #getEnd()} as offsets into the buffer of the implementation. The
+ * offsets are valid until the next call to {@link #nextToken()}.
+ */
+public abstract class JsonTokenizer {
+  protected static final int DEFAULT_BUFFER_SIZE = 4096;
+
+  protected static char unescape(final char escaped) {
+    switch (escaped) {
+      case 't':
+        return '\t';
+      case 'b':
+        return '\b';
+      case 'n':
+        return '\n';
+      case 'r':
+        return '\r';
+      case 'f':
+        return '\f';
+      default:
+        return escaped;
+    }
+  }
+
+  protected static boolean isWhitespace(final int ch) {
+    return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r';
+  }
+
+  protected static boolean isNumber(final int ch) {
+    return '0' <= ch && ch <= '9' || ch == '.' || ch == 'e' || ch == 'E' || ch == '-' || ch == '+';
+  }
+
+  protected static boolean isLiteral(final int ch) {
+    return 'a' <= ch && ch <= 'z';
+  }
+
+  protected int offset;
+  protected int start;
+  protected int end;
+  protected boolean escaped;
+  DecodeOptions options = DecodeOptions.DEFAULT;
+  DecodeOptions.Validation validation = DecodeOptions.Validation.FULL;
+  int maxDepth = Integer.MAX_VALUE;
+  int maxArrayLength = Integer.MAX_VALUE;
+  int maxStringLength = Integer.MAX_VALUE;
+  int maxNumberLength = Integer.MAX_VALUE;
+  long maxInputLength = Long.MAX_VALUE;
+  private StringCache strings;
+  /** The context of the buffers of this tokenizer, or {@code null} */
+  JsonContext context;
+
+  /**
+   * Sets the options of the decode, the limits of which are enforced by this
+   * tokenizer as the input is read.
+   *
+   * @param options The options.
+   * @throws DecodeException If the input exceeds a limit.
+   * @throws IOException If an I/O error has occurred.
+   */
+  void setOptions(final DecodeOptions options) throws DecodeException, IOException {
+    this.options = options;
+    this.validation = options.getValidation();
+    this.maxDepth = options.getMaxDepth();
+    this.maxArrayLength = options.getMaxArrayLength();
+    this.maxStringLength = options.getMaxStringLength();
+    this.maxNumberLength = options.getMaxNumberLength();
+    this.maxInputLength = options.getMaxInputLength();
+  }
+
+  /**
+   * Checks the length of the current token against the limits of the
+   * options, after it has been scanned.
+   *
+   * @param ch The first char of the current token.
+   * @throws DecodeException If the current token exceeds a limit.
+   * @throws IOException If an I/O error has occurred.
+   */
+  protected final void checkToken(final char ch) throws DecodeException, IOException {
+    if (ch == '"') {
+      if (end - start - 2 > maxStringLength)
+        throw new DecodeException("String length exceeds the limit of " + maxStringLength, this);
+    }
+    else if (end - start > maxNumberLength && ('0' <= ch && ch <= '9' || ch == '-')) {
+      throw new DecodeException("Number length exceeds the limit of " + maxNumberLength, this);
+    }
+  }
+
+  /**
+   * Checks the length of the token that is being scanned against the limits
+   * of the options, before the buffer is grown to hold more of it.
+   *
+   * @param ch The first char of the token.
+   * @param length The length of the token that has been scanned so far.
+   * @throws DecodeException If the token exceeds a limit.
+   * @throws IOException If an I/O error has occurred.
+   */
+  protected final void checkGrowth(final char ch, final int length) throws DecodeException, IOException {
+    if (ch == '"') {
+      if (length > maxStringLength + 2L)
+        throw new DecodeException("String length exceeds the limit of " + maxStringLength, this);
+    }
+    else if ('0' <= ch && ch <= '9' || ch == '-') {
+      if (length > maxNumberLength)
+        throw new DecodeException("Number length exceeds the limit of " + maxNumberLength, this);
+    }
+    else if (length > Math.min(maxStringLength + 2L, maxNumberLength)) {
+      throw new DecodeException("Token length exceeds the limit of " + Math.min(maxStringLength + 2L, maxNumberLength), this);
+    }
+  }
+
+  /**
+   * Checks the amount of input that has been read against the limit of the
+   * options.
+   *
+   * @param read The total length of the input that has been read.
+   * @throws DecodeException If the input exceeds the limit.
+   * @throws IOException If an I/O error has occurred.
+   */
+  protected final void checkInput(final long read) throws DecodeException, IOException {
+    if (read > maxInputLength)
+      throw new DecodeException("Input length exceeds the limit of " + maxInputLength, this);
+  }
+
+  /**
+   * Advances to the next token, skipping insignificant whitespace.
+   *
+   * @return The first char of the token.
+   * @throws DecodeException If the token exceeds a limit of the options.
+   * @throws IOException If an I/O error has occurred, or if the end of the
+   *           stream has been reached.
+   */
+  public abstract char nextToken() throws DecodeException, IOException;
+
+  /**
+   * Skips past the array or object that starts with the current token, such
+   * that the current token becomes its closing bracket. The contents are not
+   * validated, and are scanned for only quotes, escapes and brackets. If the
+   * current token is a scalar, this method has no effect.
+   *
+   * @param ch The first char of the current token.
+   * @throws DecodeException If the input exceeds a limit of the options.
+   * @throws IOException If an I/O error has occurred, or if the end of the
+   *           stream has been reached.
+   */
+  public void skipValue(final char ch) throws DecodeException, IOException {
+    if (ch != '[' && ch != '{')
+      return;
+
+    for (int depth = 1; depth > 0;) {
+      final char next = nextToken();
+      if (next == '[' || next == '{')
+        ++depth;
+      else if (next == ']' || next == '}')
+        --depth;
+    }
+  }
+
+  /**
+   * @param index The index relative to the start of the current token.
+   * @return The char of the current token at the specified index. Only
+   *         defined for ASCII chars.
+   */
+  public abstract char charAt(int index);
+
+  /**
+   * @param literal The literal to match.
+   * @return Whether the chars of the current token are equal to the specified
+   *         literal.
+   */
+  public boolean matches(final String literal) {
+    if (end - start != literal.length())
+      return false;
+
+    for (int i = 0; i < literal.length(); ++i)
+      if (charAt(i) != literal.charAt(i))
+        return false;
+
+    return true;
+  }
+
+  /**
+   * Matches the contents of the current string token against the specified
+   * value without allocating a {@link String}. Escaped tokens never match,
+   * and thus should be resolved via {@link #getString()}.
+   *
+   * @param value The ASCII value to match.
+   * @return Whether the current string token is not escaped, and its contents
+   *         are equal to the specified value.
+   */
+  public boolean matchesString(final String value) {
+    if (escaped || end - start - 2 != value.length())
+      return false;
+
+    for (int i = 0; i < value.length(); ++i)
+      if (charAt(i + 1) != value.charAt(i))
+        return false;
+
+    return true;
+  }
+
+  /**
+   * @return The raw text of the current token.
+   */
+  public abstract String getText();
+
+  /**
+   * Returns the unescaped contents of the current string token. This supports
+   * both unicode escapes "u000A" and two-character escapes "\n".
+   *
+   * @return The unescaped contents of the current string token.
+   * @throws DecodeException If an escape sequence is unterminated, or a
+   *           unicode escape sequence is malformed.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public abstract String getString() throws DecodeException, IOException;
+
+  /**
+   * Returns the unescaped contents of the current string token, resolving
+   * short repeated values to a shared instance via a {@link StringCache} that
+   * lives as long as this tokenizer, or as its {@link JsonContext}.
+   *
+   * @return The unescaped contents of the current string token.
+   * @throws DecodeException If an escape sequence is unterminated.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public String getCachedString() throws DecodeException, IOException {
+    return (strings == null ? strings = context != null ? context.strings : new StringCache() : strings).get(this);
+  }
+
+  /**
+   * @param length The minimum length.
+   * @return A buffer of at least the specified length for the unescaping of
+   *         a string, which is reused if this tokenizer has a context.
+   */
+  final char[] scratch(final int length) {
+    return context != null ? context.scratch(length) : new char[length];
+  }
+
+  public int getStart() {
+    return start;
+  }
+
+  public int getEnd() {
+    return end;
+  }
+
+  public int getLength() {
+    return end - start;
+  }
+
+  /**
+   * @return Whether the current token is a string that contains escape
+   *         sequences.
+   */
+  public boolean isEscaped() {
+    return escaped;
+  }
+
+  /**
+   * @return The offset of the current token from the start of the input, in
+   *         the units (chars or bytes) of the input.
+   */
+  public int getPosition() {
+    return offset + start;
+  }
+
+  /**
+   * @return The line number of the current token, or -1 if it is not known.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public int getLine() throws IOException {
+    return getHistory().getLine(getPosition());
+  }
+
+  /**
+   * @return The column of the current token, in the units (chars or bytes) of
+   *         the input, or -1 if it is not known.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public int getColumn() throws IOException {
+    return getHistory().getColumn(getPosition());
+  }
+
+  /**
+   * @return The input around the current token.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public String getContext() throws IOException {
+    return getHistory().getContext(getPosition());
+  }
+
+  abstract InputHistory getHistory() throws IOException;
+
+  /**
+   * Skips whitespace up to the next token, or the end of the input.
+   *
+   * @return Whether the end of the input has been reached.
+   * @throws DecodeException If the input exceeds a limit of the options.
+   * @throws IOException If an I/O error has occurred.
+   */
+  abstract boolean isEnd() throws DecodeException, IOException;
+
+  /**
+   * @return Whether the properties of objects are decoded lazily, in which
+   *         case this tokenizer is a {@link Utf8JsonTokenizer} of an array
+   *         that is retained by the decoded objects.
+   */
+  boolean isLazy() {
+    return false;
+  }
+
+  /**
+   * @return The whole input, or {@code null} if the input is not retained.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public abstract String readFully() throws IOException;
+}
\ No newline at end of file
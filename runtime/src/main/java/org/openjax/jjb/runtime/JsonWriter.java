@@ -0,0 +1,297 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.Closeable;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Sink of the encode of {@link JSObject}s, to which the encode of each
+ * object writes its members directly, such that the output is produced once
+ * in a single pass, regardless of the depth of nesting. The output is either
+ * written to an underlying {@link Writer}, encoded as UTF-8 directly into a
+ * {@code byte[]} buffer for an underlying {@link OutputStream}, or retained in
+ * memory for {@link #toString()}. The buffer is written to the underlying
+ * sink only when it is full, or when this writer is flushed or closed.
+ */
+public class JsonWriter implements Closeable, Flushable {
+  private static final int DEFAULT_BUFFER_SIZE = 8192;
+  private static final char[] HEX = "0123456789abcdef".toCharArray();
+  private static final char[] PAD = "                                ".toCharArray();
+
+  private final Writer writer;
+  private final OutputStream out;
+  private char[] chars;
+  private byte[] bytes;
+  private int count;
+  private long length;
+  /** The high surrogate that awaits its low surrogate, or 0 */
+  private char high;
+
+  /**
+   * Creates a writer that retains its output in memory, which is returned by
+   * {@link #toString()}.
+   */
+  public JsonWriter() {
+    this.writer = null;
+    this.out = null;
+    this.chars = new char[256];
+  }
+
+  public JsonWriter(final Writer writer) {
+    this(writer, DEFAULT_BUFFER_SIZE);
+  }
+
+  public JsonWriter(final Writer writer, final int bufferSize) {
+    if (bufferSize <= 0)
+      throw new IllegalArgumentException("bufferSize (" + bufferSize + ") must be positive");
+
+    this.writer = writer;
+    this.out = null;
+    this.chars = new char[bufferSize];
+  }
+
+  public JsonWriter(final OutputStream out) {
+    this(out, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * @param out The underlying stream, to which the output is written as
+   *          UTF-8.
+   * @param bufferSize The size of the buffer, which must be at least 4.
+   */
+  public JsonWriter(final OutputStream out, final int bufferSize) {
+    if (bufferSize < 4)
+      throw new IllegalArgumentException("bufferSize (" + bufferSize + ") must be at least 4");
+
+    this.writer = null;
+    this.out = out;
+    this.bytes = new byte[bufferSize];
+  }
+
+  /**
+   * @return The number of chars that have been written to this writer.
+   */
+  public long getLength() {
+    return length;
+  }
+
+  public void write(final char ch) throws IOException {
+    ++length;
+    if (out != null) {
+      encode(ch);
+      return;
+    }
+
+    if (count == chars.length) {
+      if (writer != null)
+        flushBuffer();
+      else
+        chars = Arrays.copyOf(chars, chars.length * 2);
+    }
+
+    chars[count++] = ch;
+  }
+
+  public void write(final String str) throws IOException {
+    for (int i = 0, len = str.length(); i < len; ++i)
+      write(str.charAt(i));
+  }
+
+  public void write(final long value) throws IOException {
+    if (value == Long.MIN_VALUE) {
+      write(Long.toString(value));
+      return;
+    }
+
+    if (value < 0)
+      write('-');
+
+    long abs = Math.abs(value);
+    long divisor = 1;
+    for (; abs / divisor >= 10; divisor *= 10);
+    for (; divisor > 0; divisor /= 10) {
+      write((char)('0' + abs / divisor));
+      abs %= divisor;
+    }
+  }
+
+  /**
+   * Writes the specified number of levels of indentation, of 2 spaces each.
+   *
+   * @param depth The depth of the indentation.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public void writePad(final int depth) throws IOException {
+    for (int n = depth * 2; n > 0; n -= PAD.length)
+      for (int i = 0, len = Math.min(n, PAD.length); i < len; ++i)
+        write(PAD[i]);
+  }
+
+  /**
+   * Writes the specified value as a quoted JSON string, escaped as by
+   * {@link org.openjax.jjb.runtime.decoder.StringDecoder#escapeString(String)}.
+   *
+   * @param str The value.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public void writeString(final String str) throws IOException {
+    write('"');
+    for (int i = 0, len = str.length(); i < len; ++i) {
+      final char ch = str.charAt(i);
+      switch (ch) {
+        case '"':
+        case '\\':
+        case '/':
+          write('\\');
+          write(ch);
+          break;
+        case '\t':
+          write("\\t");
+          break;
+        case '\b':
+          write("\\b");
+          break;
+        case '\n':
+          write("\\n");
+          break;
+        case '\r':
+          write("\\r");
+          break;
+        case '\f':
+          write("\\f");
+          break;
+        default:
+          if (ch > 0x1F) {
+            write(ch);
+          }
+          else {
+            write("\\u00");
+            write(HEX[ch >> 4]);
+            write(HEX[ch & 0xF]);
+          }
+      }
+    }
+
+    write('"');
+  }
+
+  /**
+   * Encodes the specified char as UTF-8 into the buffer, pairing surrogates
+   * across calls. Unpaired surrogates are replaced, as by
+   * {@link String#getBytes(java.nio.charset.Charset)}.
+   */
+  private void encode(final char ch) throws IOException {
+    if (count > bytes.length - 4)
+      flushBuffer();
+
+    if (high != 0) {
+      final char high = this.high;
+      this.high = 0;
+      if (Character.isLowSurrogate(ch)) {
+        final int codePoint = Character.toCodePoint(high, ch);
+        bytes[count++] = (byte)(0xF0 | codePoint >> 18);
+        bytes[count++] = (byte)(0x80 | codePoint >> 12 & 0x3F);
+        bytes[count++] = (byte)(0x80 | codePoint >> 6 & 0x3F);
+        bytes[count++] = (byte)(0x80 | codePoint & 0x3F);
+        return;
+      }
+
+      bytes[count++] = '?';
+      encode(ch);
+    }
+    else if (ch < 0x80) {
+      bytes[count++] = (byte)ch;
+    }
+    else if (ch < 0x800) {
+      bytes[count++] = (byte)(0xC0 | ch >> 6);
+      bytes[count++] = (byte)(0x80 | ch & 0x3F);
+    }
+    else if (Character.isHighSurrogate(ch)) {
+      high = ch;
+    }
+    else if (Character.isSurrogate(ch)) {
+      bytes[count++] = '?';
+    }
+    else {
+      bytes[count++] = (byte)(0xE0 | ch >> 12);
+      bytes[count++] = (byte)(0x80 | ch >> 6 & 0x3F);
+      bytes[count++] = (byte)(0x80 | ch & 0x3F);
+    }
+  }
+
+  private void flushBuffer() throws IOException {
+    if (count == 0)
+      return;
+
+    if (out != null)
+      out.write(bytes, 0, count);
+    else
+      writer.write(chars, 0, count);
+
+    count = 0;
+  }
+
+  /**
+   * Writes the buffer to the underlying sink, and flushes the sink. A high
+   * surrogate that has not yet been paired remains in this writer.
+   */
+  @Override
+  public void flush() throws IOException {
+    if (out != null) {
+      flushBuffer();
+      out.flush();
+    }
+    else if (writer != null) {
+      flushBuffer();
+      writer.flush();
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (out == null && writer == null)
+      return;
+
+    try {
+      if (high != 0) {
+        high = 0;
+        encode('?');
+      }
+
+      flushBuffer();
+    }
+    finally {
+      if (out != null)
+        out.close();
+      else
+        writer.close();
+    }
+  }
+
+  /**
+   * @return The output of this writer, if it retains its output in memory.
+   */
+  @Override
+  public String toString() {
+    return out == null && writer == null ? new String(chars, 0, count) : super.toString();
+  }
+}
\ No newline at end of file
@@ -0,0 +1,170 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import org.openjax.jjb.runtime.decoder.NumberDecoder;
+import org.openjax.jjb.runtime.validator.NumberValidator;
+
+/**
+ * {@link PrimitiveArray} backed by a {@code long[]}.
+ */
+public class LongArray extends PrimitiveArray<Long> {
+  private static final long serialVersionUID = -5493187366812327613L;
+
+  private long[] values;
+  private int size;
+  transient boolean int32;
+
+  public LongArray() {
+    this(10);
+  }
+
+  LongArray(final boolean int32) {
+    this(10);
+    this.int32 = int32;
+  }
+
+  public LongArray(final int capacity) {
+    this.values = new long[capacity];
+  }
+
+  public LongArray(final long ... values) {
+    this.values = values.clone();
+    this.size = values.length;
+  }
+
+  private void ensureCapacity(final int capacity) {
+    if (capacity > values.length)
+      values = Arrays.copyOf(values, Math.max(capacity, values.length + (values.length >> 1) + 1));
+  }
+
+  public long getLong(final int index) {
+    checkIndex(index, size);
+    return values[index];
+  }
+
+  public long setLong(final int index, final long value) {
+    checkIndex(index, size);
+    final long previous = values[index];
+    values[index] = value;
+    return previous;
+  }
+
+  public void addLong(final long value) {
+    ensureCapacity(size + 1);
+    values[size++] = value;
+  }
+
+  public void addLong(final int index, final long value) {
+    if (index < 0 || index > size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+
+    ensureCapacity(size + 1);
+    System.arraycopy(values, index, values, index + 1, size - index);
+    values[index] = value;
+    ++size;
+  }
+
+  public long removeLong(final int index) {
+    checkIndex(index, size);
+    final long previous = values[index];
+    System.arraycopy(values, index + 1, values, index, --size - index);
+    return previous;
+  }
+
+  /**
+   * @return A new {@code long[]} of the elements of this array.
+   */
+  public long[] toLongArray() {
+    return Arrays.copyOf(values, size);
+  }
+
+  @Override
+  public Long get(final int index) {
+    return getLong(index);
+  }
+
+  @Override
+  public Long set(final int index, final Long element) {
+    return setLong(index, element);
+  }
+
+  @Override
+  public void add(final int index, final Long element) {
+    addLong(index, element);
+  }
+
+  @Override
+  public boolean add(final Long e) {
+    addLong(e);
+    return true;
+  }
+
+  @Override
+  public Long remove(final int index) {
+    return removeLong(index);
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    size = 0;
+  }
+
+  @Override
+  boolean addToken(final char ch, final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    if (('0' > ch || ch > '9') && ch != '-')
+      return false;
+
+    final long value = NumberDecoder.parseLong(tokenizer);
+    if (int32 && (int)value != value)
+      throw new DecodeException("is out of range of \"int32\": \"" + tokenizer.getText() + "\"", tokenizer);
+
+    addLong(value);
+    return true;
+  }
+
+  @Override
+  void writeTo(final JsonWriter out, final String delim) throws IOException {
+    for (int i = 0; i < size; ++i) {
+      if (i > 0)
+        out.write(delim);
+
+      out.write(values[i]);
+    }
+  }
+
+  @Override
+  String validate(final int index, final NumberValidator validator) {
+    return validator.validate(values[index]);
+  }
+
+  @Override
+  public LongArray clone() {
+    final LongArray clone = new LongArray(0);
+    clone.values = toLongArray();
+    clone.size = size;
+    return clone;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,109 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+
+import org.openjax.jjb.runtime.decoder.NumberDecoder;
+import org.openjax.jjb.runtime.validator.NumberValidator;
+import org.openjax.jjb.runtime.validator.Validator;
+
+/**
+ * {@link Property} that stores its value as a primitive {@code long}, which is
+ * decoded and validated without boxing.
+ */
+public class LongProperty extends Property<Long> {
+  private long value;
+  private boolean notNull;
+
+  public LongProperty(final JSObject jsObject, final Binding<Long> binding) {
+    super(jsObject, binding);
+  }
+
+  @Override
+  protected void clone(final Property<Long> clone) {
+    super.clone(clone);
+    if (clone instanceof LongProperty) {
+      this.value = ((LongProperty)clone).value;
+      this.notNull = ((LongProperty)clone).notNull;
+    }
+    else {
+      set(clone.get());
+    }
+  }
+
+  /**
+   * @return The value of this property, or {@code 0} if the value is null or
+   *         not present.
+   */
+  public long getAsLong() {
+    return value;
+  }
+
+  public void set(final long value) {
+    super.set(null);
+    this.value = value;
+    this.notNull = true;
+  }
+
+  @Override
+  public void set(final Long value) {
+    super.set(null);
+    this.value = value == null ? 0 : value;
+    this.notNull = value != null;
+  }
+
+  @Override
+  public Long get() {
+    return notNull ? value : null;
+  }
+
+  @Override
+  public void clear() {
+    super.clear();
+    this.value = 0;
+    this.notNull = false;
+  }
+
+  @Override
+  boolean defer(final char ch, final Utf8JsonTokenizer tokenizer) {
+    return false;
+  }
+
+  @Override
+  boolean decodeToken(final char ch, final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    if (('0' > ch || ch > '9') && ch != '-')
+      return false;
+
+    final long value = NumberDecoder.parseLong(tokenizer);
+    if (binding.int32 && (int)value != value)
+      throw new DecodeException(getPath() + " is out of range of \"int32\": \"" + tokenizer.getText() + "\"", tokenizer);
+
+    set(value);
+    if (tokenizer.validation == DecodeOptions.Validation.FULL) {
+      for (final Validator<?> validator : binding.validators) {
+        if (validator instanceof NumberValidator) {
+          final String error = ((NumberValidator)validator).validate(value);
+          if (error != null)
+            throw new DecodeException(getPath() + " " + error, tokenizer);
+        }
+      }
+    }
+
+    return true;
+  }
+}
\ No newline at end of file
@@ -0,0 +1,201 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Decoder of a top-level array in parallel. A first pass over the bytes finds
+ * the offset of each element, by tracking only the nesting of arrays and
+ * objects and the extent of strings. The elements are then split into
+ * chunks, each of which is decoded by its own tokenizer as a root array frame
+ * on a {@link ForkJoinPool}, and the chunks are assembled in order. If the
+ * input is not well-formed, or exceeds a limit of the options, the decode is
+ * abandoned, so that the input is decoded sequentially to report the error
+ * exactly as a sequential decode would.
+ */
+final class ParallelDecoder {
+  /** The number of chunks per thread of the pool, to balance uneven chunks */
+  private static final int CHUNKS_PER_THREAD = 4;
+
+  private final byte[] bytes;
+  private final DecodeOptions options;
+  private final Binding<?> binding;
+  private int[] starts = new int[1024];
+  private int size;
+  private int close;
+  private volatile boolean failed;
+
+  ParallelDecoder(final Class<?> type, final byte[] bytes, final DecodeOptions options) {
+    this.bytes = bytes;
+    this.options = options;
+    this.binding = JSObject.arrayBindings.get(type);
+  }
+
+  private void addStart(final int start) {
+    if (size == starts.length)
+      starts = Arrays.copyOf(starts, size * 2);
+
+    starts[size++] = start;
+  }
+
+  /**
+   * Finds the offset of each element of the top-level array that begins at
+   * the specified offset, and the offset of its closing {@code ']'}. Elements
+   * are delimited as the tokenizer delimits them, such that a scalar element
+   * ends at whitespace, {@code ','}, or the start of another value.
+   *
+   * @return Whether the array is closed.
+   */
+  private boolean index(int i) {
+    int depth = 1;
+    boolean scalar = false;
+    for (; i < bytes.length; ++i) {
+      final byte ch = bytes[i];
+      if (ch == '"') {
+        if (depth == 1)
+          addStart(i);
+
+        scalar = false;
+        while (true) {
+          if ((i = StructuralScanner.indexOfQuoteOrBackslash(bytes, i + 1, bytes.length)) == bytes.length)
+            return false;
+
+          if (bytes[i] == '"')
+            break;
+
+          ++i;
+        }
+      }
+      else if (ch == '[' || ch == '{') {
+        if (depth++ == 1)
+          addStart(i);
+
+        scalar = false;
+      }
+      else if (ch == ']' || ch == '}') {
+        if (--depth == 0) {
+          close = i;
+          return ch == ']';
+        }
+
+        scalar = false;
+      }
+      else if (depth == 1) {
+        if (ch == ',' || JsonTokenizer.isWhitespace(ch)) {
+          scalar = false;
+        }
+        else if (!scalar) {
+          addStart(i);
+          scalar = true;
+        }
+      }
+    }
+
+    return false;
+  }
+
+  /**
+   * @param pool The pool on which to decode the chunks.
+   * @return The decoded array, or {@code null} if the input is not a
+   *         well-formed top-level array within the limits of the options.
+   */
+  JSArray<?> decode(final ForkJoinPool pool) {
+    if (bytes.length > options.getMaxInputLength() || options.getMaxDepth() < 1)
+      return null;
+
+    int i = 0;
+    while (i < bytes.length && JsonTokenizer.isWhitespace(bytes[i]))
+      ++i;
+
+    if (i == bytes.length || bytes[i] != '[' || !index(i + 1) || size > options.getMaxArrayLength())
+      return null;
+
+    // Elements after the slice of the projection are not decoded
+    final Projection projection = options.getProjection();
+    int count = size;
+    if (projection != null)
+      while (count > 0 && projection.isPast(count - 1))
+        --count;
+
+    final int chunks = Math.max(1, Math.min(count, pool.getParallelism() * CHUNKS_PER_THREAD));
+    final Object[] results = new Object[chunks];
+    pool.invoke(new Chunks(projection, count, chunks, results, 0, chunks));
+    if (failed)
+      return null;
+
+    final JSArray<Object> array = new JSArray<>(count);
+    for (final Object result : results)
+      array.addAll((JSArray<?>)result);
+
+    return array;
+  }
+
+  private final class Chunks extends RecursiveAction {
+    private static final long serialVersionUID = -2807146302167403375L;
+
+    private final Projection projection;
+    private final int count;
+    private final int chunks;
+    private final Object[] results;
+    private final int from;
+    private final int to;
+
+    Chunks(final Projection projection, final int count, final int chunks, final Object[] results, final int from, final int to) {
+      this.projection = projection;
+      this.count = count;
+      this.chunks = chunks;
+      this.results = results;
+      this.from = from;
+      this.to = to;
+    }
+
+    @Override
+    protected void compute() {
+      if (to - from > 1) {
+        final int mid = (from + to) >>> 1;
+        invokeAll(new Chunks(projection, count, chunks, results, from, mid), new Chunks(projection, count, chunks, results, mid, to));
+        return;
+      }
+
+      if (failed)
+        return;
+
+      final int first = (int)((long)from * count / chunks);
+      final int last = (int)((long)to * count / chunks);
+      try {
+        final Utf8JsonTokenizer tokenizer = new Utf8JsonTokenizer(bytes, 0, first < size ? starts[first] : close, last < size ? starts[last] : close, false);
+        tokenizer.setOptions(options);
+        results[from] = JSObjectBase.decodeElements(tokenizer, binding, projection, first, last);
+
+        // Only the delimiters of the elements of the next chunk may remain
+        while (!tokenizer.isEnd()) {
+          if (tokenizer.nextToken() != ',') {
+            failed = true;
+            break;
+          }
+        }
+      }
+      catch (final DecodeException | IOException e) {
+        failed = true;
+      }
+    }
+  }
+}
\ No newline at end of file
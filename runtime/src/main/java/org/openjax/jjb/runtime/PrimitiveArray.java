@@ -0,0 +1,269 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+
+import org.openjax.jjb.runtime.validator.NumberValidator;
+
+/**
+ * {@link JSArray} that stores its elements in a compact primitive form. The
+ * {@link List} methods box and unbox the elements, whereas the decoder and
+ * encoder access them in primitive form. Null elements are not supported.
+ *
+ * @param <E> The boxed type of the elements.
+ */
+public abstract class PrimitiveArray<E> extends JSArray<E> {
+  private static final long serialVersionUID = -1573283710262218316L;
+
+  /**
+   * @param type The type of the elements of an array property.
+   * @param int32 Whether the elements of type {@link Long} are of the "int32"
+   *          form, the range of which is checked by every decode.
+   * @return A new {@link PrimitiveArray} for elements of the specified type, or
+   *         {@code null} if the type has no primitive form.
+   */
+  static PrimitiveArray<?> forType(final Class<?> type, final boolean int32) {
+    if (type == Long.class)
+      return new LongArray(int32);
+
+    if (type == Double.class)
+      return new DoubleArray();
+
+    if (type == Boolean.class)
+      return new BooleanArray();
+
+    return null;
+  }
+
+  /**
+   * @param type The type of the elements of an array property.
+   * @param int32 Whether the elements of type {@link Long} are of the "int32"
+   *          form, the range of which is checked by every decode.
+   * @param recycled A value of a previous decode, which is cleared and
+   *          returned if it is the {@link PrimitiveArray} for the type.
+   * @return A {@link PrimitiveArray} for elements of the specified type, or
+   *         {@code null} if the type has no primitive form.
+   */
+  static PrimitiveArray<?> forType(final Class<?> type, final boolean int32, final Object recycled) {
+    if (recycled instanceof LongArray && type == Long.class) {
+      final LongArray array = (LongArray)recycled;
+      array.clear();
+      array.int32 = int32;
+      return array;
+    }
+
+    if (recycled instanceof DoubleArray ? type == Double.class : recycled instanceof BooleanArray && type == Boolean.class) {
+      ((PrimitiveArray<?>)recycled).clear();
+      return (PrimitiveArray<?>)recycled;
+    }
+
+    return forType(type, int32);
+  }
+
+  static void checkIndex(final int index, final int size) {
+    if (index < 0 || index >= size)
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+  }
+
+  private transient List<E> view;
+
+  /**
+   * @return A {@link List} view of this array, implementing the bulk
+   *         {@link List} methods in terms of the primitive storage.
+   */
+  private List<E> view() {
+    return view == null ? view = new View() : view;
+  }
+
+  private final class View extends AbstractList<E> {
+    @Override
+    public E get(final int index) {
+      return PrimitiveArray.this.get(index);
+    }
+
+    @Override
+    public E set(final int index, final E element) {
+      return PrimitiveArray.this.set(index, element);
+    }
+
+    @Override
+    public void add(final int index, final E element) {
+      PrimitiveArray.this.add(index, element);
+    }
+
+    @Override
+    public E remove(final int index) {
+      return PrimitiveArray.this.remove(index);
+    }
+
+    @Override
+    public int size() {
+      return PrimitiveArray.this.size();
+    }
+  }
+
+  PrimitiveArray() {
+    super(false);
+  }
+
+  /**
+   * Appends the current token of the specified tokenizer to this array, if it
+   * is a value of the primitive form of this array.
+   *
+   * @param ch The first char of the current token.
+   * @param tokenizer The tokenizer.
+   * @return Whether the token was appended.
+   * @throws DecodeException If the token is malformed.
+   * @throws IOException If an I/O error has occurred.
+   */
+  abstract boolean addToken(char ch, JsonTokenizer tokenizer) throws DecodeException, IOException;
+
+  /**
+   * Writes the elements of this array to the specified writer, separated by
+   * the specified delimiter.
+   */
+  abstract void writeTo(JsonWriter out, String delim) throws IOException;
+
+  /**
+   * @return The error of the element at the specified index, as per the
+   *         specified validator, or {@code null} if the element is valid.
+   */
+  abstract String validate(int index, NumberValidator validator);
+
+  @Override
+  public abstract E get(int index);
+
+  @Override
+  public abstract E set(int index, E element);
+
+  @Override
+  public abstract void add(int index, E element);
+
+  @Override
+  public abstract E remove(int index);
+
+  @Override
+  public abstract int size();
+
+  @Override
+  public abstract void clear();
+
+  @Override
+  public boolean isEmpty() {
+    return size() == 0;
+  }
+
+  @Override
+  public boolean contains(final Object o) {
+    return view().contains(o);
+  }
+
+  @Override
+  public Iterator<E> iterator() {
+    return view().iterator();
+  }
+
+  @Override
+  public Object[] toArray() {
+    return view().toArray();
+  }
+
+  @Override
+  public <T>T[] toArray(final T[] a) {
+    return view().toArray(a);
+  }
+
+  @Override
+  public boolean add(final E e) {
+    add(size(), e);
+    return true;
+  }
+
+  @Override
+  public boolean remove(final Object o) {
+    return view().remove(o);
+  }
+
+  @Override
+  public boolean containsAll(final Collection<?> c) {
+    return view().containsAll(c);
+  }
+
+  @Override
+  public boolean addAll(final Collection<? extends E> c) {
+    return view().addAll(c);
+  }
+
+  @Override
+  public boolean addAll(final int index, final Collection<? extends E> c) {
+    return view().addAll(index, c);
+  }
+
+  @Override
+  public boolean removeAll(final Collection<?> c) {
+    return view().removeAll(c);
+  }
+
+  @Override
+  public boolean retainAll(final Collection<?> c) {
+    return view().retainAll(c);
+  }
+
+  @Override
+  public int indexOf(final Object o) {
+    return view().indexOf(o);
+  }
+
+  @Override
+  public int lastIndexOf(final Object o) {
+    return view().lastIndexOf(o);
+  }
+
+  @Override
+  public ListIterator<E> listIterator() {
+    return view().listIterator();
+  }
+
+  @Override
+  public ListIterator<E> listIterator(final int index) {
+    return view().listIterator(index);
+  }
+
+  @Override
+  public List<E> subList(final int fromIndex, final int toIndex) {
+    return view().subList(fromIndex, toIndex);
+  }
+
+  @Override
+  public abstract PrimitiveArray<E> clone();
+
+  @Override
+  public int hashCode() {
+    return view().hashCode();
+  }
+
+  @Override
+  public boolean equals(final Object obj) {
+    return obj == this || obj instanceof List && view().equals(obj);
+  }
+}
\ No newline at end of file
@@ -0,0 +1,190 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Set of property paths to be decoded, all other properties being skipped
+ * without being decoded or validated. A path is a sequence of property names
+ * separated by {@code '.'}, each of which may be followed by a slice of the
+ * elements of its array value: {@code "items[0..50].name"} selects the
+ * {@code name} of the first 50 elements of {@code items}. The bounds of a
+ * slice are inclusive and exclusive respectively, and either may be omitted.
+ * A slice applies to the array at each level of nesting of the value. A path
+ * selects the whole value of its last property.
+ */
+public final class Projection {
+  /**
+   * Splits the specified path at each {@code '.'} that is not within a slice.
+   */
+  private static String[] split(final String path) {
+    final List<String> names = new ArrayList<>();
+    int start = 0;
+    boolean slice = false;
+    for (int i = 0; i < path.length(); ++i) {
+      final char ch = path.charAt(i);
+      if (ch == '[') {
+        slice = true;
+      }
+      else if (ch == ']') {
+        slice = false;
+      }
+      else if (ch == '.' && !slice) {
+        names.add(path.substring(start, i));
+        start = i + 1;
+      }
+    }
+
+    names.add(path.substring(start));
+    return names.toArray(new String[names.size()]);
+  }
+
+  /** The projections of the included properties, or null if all are included */
+  private Map<String,Projection> properties = new HashMap<>();
+  private int from;
+  private int to;
+
+  /**
+   * @param paths The property paths to include.
+   * @throws IllegalArgumentException If a path is malformed.
+   */
+  public Projection(final String ... paths) {
+    this(0, Integer.MAX_VALUE);
+    for (final String path : paths)
+      add(path, split(path), 0);
+  }
+
+  private Projection(final int from, final int to) {
+    this.from = from;
+    this.to = to;
+  }
+
+  private void add(final String path, final String[] names, final int index) {
+    if (properties == null)
+      return;
+
+    if (index == names.length) {
+      properties = null;
+      return;
+    }
+
+    String name = names[index];
+    int from = 0;
+    int to = Integer.MAX_VALUE;
+    final int bracket = name.indexOf('[');
+    if (bracket != -1) {
+      final int dots = name.indexOf("..", bracket);
+      if (dots == -1 || !name.endsWith("]"))
+        throw new IllegalArgumentException("Malformed slice in path: " + path);
+
+      try {
+        if (dots > bracket + 1)
+          from = Integer.parseInt(name.substring(bracket + 1, dots));
+
+        if (dots + 2 < name.length() - 1)
+          to = Integer.parseInt(name.substring(dots + 2, name.length() - 1));
+      }
+      catch (final NumberFormatException e) {
+        throw new IllegalArgumentException("Malformed slice in path: " + path, e);
+      }
+
+      if (from < 0 || to < from)
+        throw new IllegalArgumentException("Illegal slice in path: " + path);
+
+      name = name.substring(0, bracket);
+    }
+
+    if (name.isEmpty())
+      throw new IllegalArgumentException("Empty property name in path: " + path);
+
+    Projection projection = properties.get(name);
+    if (projection == null) {
+      properties.put(name, projection = new Projection(from, to));
+    }
+    else {
+      projection.from = Math.min(projection.from, from);
+      projection.to = Math.max(projection.to, to);
+    }
+
+    projection.add(path, names, index + 1);
+  }
+
+  /**
+   * @return Whether this projection includes only some of the properties of
+   *         an object.
+   */
+  boolean isPartial() {
+    return properties != null;
+  }
+
+  /**
+   * @return The names of the included properties, if {@link #isPartial()}.
+   */
+  Iterable<String> names() {
+    return properties.keySet();
+  }
+
+  /**
+   * @param name The name of the property.
+   * @return Whether the property of the specified name is included.
+   */
+  boolean includes(final String name) {
+    return properties == null || properties.containsKey(name);
+  }
+
+  /**
+   * @param name The name of the property.
+   * @return The projection of the value of the specified property, or
+   *         {@code null} if this projection includes all properties.
+   */
+  Projection get(final String name) {
+    return properties == null ? null : properties.get(name);
+  }
+
+  /**
+   * @param index The index of an element of an array.
+   * @return Whether the element at the specified index is included.
+   */
+  boolean includes(final int index) {
+    return from <= index && index < to;
+  }
+
+  /**
+   * @param index The index of an element of an array.
+   * @return Whether the element at the specified index, and all elements
+   *         after it, are excluded.
+   */
+  boolean isPast(final int index) {
+    return index >= to;
+  }
+
+  @Override
+  public String toString() {
+    final StringBuilder builder = new StringBuilder();
+    if (from != 0 || to != Integer.MAX_VALUE)
+      builder.append('[').append(from == 0 ? "" : String.valueOf(from)).append("..").append(to == Integer.MAX_VALUE ? "" : String.valueOf(to)).append(']');
+
+    if (properties != null)
+      builder.append(properties);
+
+    return builder.toString();
+  }
+}
\ No newline at end of file
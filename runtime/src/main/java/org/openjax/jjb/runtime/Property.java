@@ -45,11 +45,33 @@ public class Property<T> {
     return value instanceof String && binding.urlDecode ? (T)URIComponent.decode(((String)value)) : value;
   }
 
+  /**
+   * The raw input of a value that is decoded on first access.
+   */
+  private static final class Deferred {
+    private final byte[] bytes;
+    private final int offset;
+    private final int from;
+    private final int to;
+    private final DecodeOptions options;
+
+    private Deferred(final byte[] bytes, final int offset, final int from, final int to, final DecodeOptions options) {
+      this.bytes = bytes;
+      this.offset = offset;
+      this.from = from;
+      this.to = to;
+      this.options = options;
+    }
+  }
+
   private final JSObject jsObject;
   protected final Binding<T> binding;
   private Required required;
   private boolean present = false;
   private T value;
+  private Deferred deferred;
+  /** The object or array value before the last reset, to be reused */
+  private Object recycled;
 
   public Property(final JSObject jsObject, final Binding<T> binding) {
     this.jsObject = jsObject;
@@ -60,6 +82,7 @@ public class Property<T> {
   protected void clone(final Property<T> clone) {
     this.present = clone.present;
     this.value = clone.value;
+    this.deferred = clone.deferred;
   }
 
   protected boolean isTypeAssignable(final T value) {
@@ -76,15 +99,132 @@ public class Property<T> {
 
     this.present = true;
     this.value = value;
+    this.deferred = null;
   }
 
+  /**
+   * Clears this property, retaining its value for reuse by the next decode
+   * if it is an object or array.
+   */
+  void reset() {
+    if (value instanceof JSObject || value instanceof List)
+      recycled = value;
+
+    clear();
+  }
+
+  /**
+   * @return The value of this property before the last {@link #reset()}, if
+   *         it is an object or array, which is not returned again.
+   */
+  Object recycle() {
+    final Object recycled = this.recycled;
+    this.recycled = null;
+    return recycled;
+  }
+
+  /**
+   * Returns the value of this property. If the value was deferred by a lazy
+   * decode, it is decoded and validated by the first call.
+   *
+   * @return The value of this property.
+   * @throws IllegalStateException If the deferred value is invalid, which is
+   *           a {@link DecodeException} via {@link JSObject#validate()}.
+   */
   public T get() {
+    if (deferred != null) {
+      try {
+        resolve();
+      }
+      catch (final DecodeException | IOException e) {
+        throw new IllegalStateException(e.getMessage(), e);
+      }
+    }
+
     return value;
   }
 
   public void clear() {
     this.present = false;
     this.value = null;
+    this.deferred = null;
+  }
+
+  /**
+   * @return Whether the value of this property is null, without decoding a
+   *         deferred value, which is never null.
+   */
+  boolean isNull() {
+    return deferred == null && get() == null;
+  }
+
+  /**
+   * Defers the decode of the value that starts with the current token, if it
+   * is an array, object or string, by skipping past it and retaining its
+   * extent in the buffer of the tokenizer.
+   *
+   * @param ch The first char of the current token.
+   * @param tokenizer The lazy tokenizer.
+   * @return Whether the value was deferred.
+   * @throws DecodeException If the value exceeds a limit of the options.
+   * @throws IOException If an I/O error has occurred.
+   */
+  boolean defer(final char ch, final Utf8JsonTokenizer tokenizer) throws DecodeException, IOException {
+    if (ch != '{' && ch != '[' && ch != '"')
+      return false;
+
+    final int from = tokenizer.getStart();
+    tokenizer.skipValue(ch);
+    this.present = true;
+    this.value = null;
+    this.deferred = new Deferred(tokenizer.getBuffer(), -tokenizer.offset, from, tokenizer.getEnd(), tokenizer.options);
+    return true;
+  }
+
+  /**
+   * Decodes and validates the deferred value of this property, if any.
+   *
+   * @throws DecodeException If the value is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  void resolve() throws DecodeException, IOException {
+    final Deferred deferred = this.deferred;
+    if (deferred == null)
+      return;
+
+    final Utf8JsonTokenizer tokenizer = new Utf8JsonTokenizer(deferred.bytes, deferred.offset, deferred.from, deferred.to, true);
+    tokenizer.setOptions(deferred.options);
+    try {
+      accept(JSObjectBase.decodeValue(tokenizer.nextToken(), tokenizer, binding), tokenizer);
+    }
+    catch (final DecodeException | IOException e) {
+      // The value remains deferred, so that it is rejected on every access
+      this.value = null;
+      this.deferred = deferred;
+      throw e;
+    }
+  }
+
+  /**
+   * Sets and validates the decoded value of this property.
+   *
+   * @param value The decoded value.
+   * @param tokenizer The tokenizer at the end of the value.
+   * @throws DecodeException If the value is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  @SuppressWarnings("unchecked")
+  void accept(final Object value, final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    if (tokenizer.validation != DecodeOptions.Validation.NONE && (binding.required == Required.TRUE || binding.required == Required.DECODE) && binding.notNull && value == null)
+      throw new DecodeException("\"" + binding.name + "\" cannot be null", tokenizer);
+
+    // The decoder of the binding guarantees the type of the value, so only the
+    // cardinality remains to be checked
+    if (value != null && binding.array != value instanceof List)
+      throw new DecodeException("\"" + binding.name + "\": " + binding.type.getName() + " incompatible with " + (binding.array ? List.class.getName() + "<" + value.getClass().getName() + ">" : value.getClass().getName()), tokenizer);
+
+    set((T)value);
+    decode(tokenizer);
   }
 
   protected Required required() {
@@ -101,10 +241,14 @@ public class Property<T> {
 
   @SuppressWarnings("unchecked")
   protected T encode() throws EncodeException {
+    final T value = get();
     final String error = binding.validate(this, value);
     if (error != null)
       throw new EncodeException(error, jsObject);
 
+    if (value instanceof PrimitiveArray)
+      return value;
+
     if (!binding.isAssignable(value))
       throw new EncodeException("\"" + binding.name + "\": " + value.getClass().getName() + " cannot be encoded as " + (binding.array ? List.class.getName() + "<" + value.getClass().getName() + ">" : value.getClass().getName()), jsObject);
 
@@ -120,13 +264,100 @@ public class Property<T> {
     return encode(value, jsObject, binding);
   }
 
+  /**
+   * Writes the value of this property, as it is returned by {@link #encode()},
+   * without copying its array or escaping its strings into intermediate
+   * instances.
+   *
+   * @param out The writer.
+   * @param depth The depth of the value, or -1 for the external form.
+   * @throws EncodeException If the value is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
   @SuppressWarnings("unchecked")
-  protected void decode(final JsonReader reader) throws DecodeException, IOException {
+  void encode(final JsonWriter out, final int depth) throws IOException {
+    final T value = get();
     final String error = binding.validate(this, value);
     if (error != null)
-      throw new DecodeException(error, reader);
+      throw new EncodeException(error, jsObject);
 
-    if (value instanceof Collection<?>) {
+    if (value instanceof PrimitiveArray) {
+      JSArray.encodeElements(out, (PrimitiveArray<?>)value, depth);
+      return;
+    }
+
+    if (!binding.isAssignable(value))
+      throw new EncodeException("\"" + binding.name + "\": " + value.getClass().getName() + " cannot be encoded as " + (binding.array ? List.class.getName() + "<" + value.getClass().getName() + ">" : value.getClass().getName()), jsObject);
+
+    if (!(value instanceof Collection<?>)) {
+      write(out, value, depth);
+      return;
+    }
+
+    final Collection<T> collection = (Collection<T>)value;
+    if (collection.size() == 0) {
+      out.write("[]");
+      return;
+    }
+
+    out.write('[');
+    boolean first = true;
+    for (final T member : collection) {
+      if (!first)
+        out.write(depth == -1 ? "," : ", ");
+
+      write(out, member, depth);
+      first = false;
+    }
+
+    out.write(']');
+  }
+
+  private void write(final JsonWriter out, final T value, final int depth) throws IOException {
+    if (value != null && !binding.type.isAssignableFrom(value.getClass()))
+      throw new EncodeException("\"" + binding.name + "\": " + value.getClass().getName() + " cannot be encoded as " + binding.type.getName(), jsObject);
+
+    if (!(value instanceof String))
+      JSObjectBase.write(out, value, depth);
+    else if (binding.urlEncode)
+      JSObjectBase.write(out, URIComponent.encode(StringDecoder.escapeString((String)value)), depth);
+    else
+      out.writeString((String)value);
+  }
+
+  /**
+   * Decodes the value of this property directly from the current token, if
+   * this property stores its value in a specialized form.
+   *
+   * @param ch The first char of the current token.
+   * @param tokenizer The tokenizer.
+   * @return Whether the value was decoded, in which case it has already been
+   *         validated.
+   * @throws DecodeException If the value is invalid.
+   * @throws IOException If an I/O error has occurred.
+   */
+  boolean decodeToken(final char ch, final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    return false;
+  }
+
+  @SuppressWarnings("unchecked")
+  protected void decode(final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    if (tokenizer.validation == DecodeOptions.Validation.FULL) {
+      final String error = binding.validate(this, value);
+      if (error != null)
+        throw new DecodeException(error, tokenizer);
+    }
+
+    if (value instanceof List<?>) {
+      // The elements are decoded in place, so that the JSArray or
+      // PrimitiveArray of the decode is kept without a copy
+      if (binding.urlDecode) {
+        final List<T> list = (List<T>)value;
+        for (int i = 0, size = list.size(); i < size; ++i)
+          list.set(i, decode(list.get(i), jsObject, binding));
+      }
+    }
+    else if (value instanceof Collection<?>) {
       final Collection<T> collection = (Collection<T>)value;
       final Collection<T> decoded = new ArrayList<>(collection.size());
       for (final T member : collection)
@@ -142,6 +373,7 @@ public class Property<T> {
   @Override
   public int hashCode() {
     final int hashCode = 1917841483;
+    final T value = get();
     return value == null ? hashCode : hashCode ^ 31 * value.hashCode();
   }
 
@@ -154,9 +386,11 @@ public class Property<T> {
       return false;
 
     final Property<?> that = (Property<?>)obj;
-    if (that.value instanceof Number)
-      return Numbers.equivalent((Number)value, (Number)that.value, 10 * Math.max(Math.ulp(((Number)value).doubleValue()), Math.ulp(((Number)that.value).doubleValue())));
+    final Object value = get();
+    final Object thatValue = that.get();
+    if (thatValue instanceof Number)
+      return Numbers.equivalent((Number)value, (Number)thatValue, 10 * Math.max(Math.ulp(((Number)value).doubleValue()), Math.ulp(((Number)thatValue).doubleValue())));
 
-    return that.value != null ? that.value.equals(value) : value == null;
+    return thatValue != null ? thatValue.equals(value) : value == null;
   }
 }
\ No newline at end of file
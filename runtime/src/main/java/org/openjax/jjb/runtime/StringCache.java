@@ -0,0 +1,85 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+
+/**
+ * Bounded table of canonical {@link String} instances for short string tokens
+ * that repeat in a document. The table is direct-mapped on the hash of the
+ * raw chars of the token, so a lookup hashes and compares the chars in the
+ * buffer of the tokenizer, and only allocates a {@link String} on a miss, in
+ * which case the new instance replaces the previous occupant of its slot.
+ * Tokens that are escaped, longer than the limit, or not ASCII bypass the
+ * table.
+ */
+public class StringCache {
+  public static final int DEFAULT_CAPACITY = 1024;
+  public static final int DEFAULT_MAX_LENGTH = 32;
+
+  private final String[] table;
+  private final int mask;
+  private final int maxLength;
+
+  /**
+   * @param capacity The number of slots, rounded up to a power of two.
+   * @param maxLength The maximum length of the values that are cached.
+   */
+  public StringCache(final int capacity, final int maxLength) {
+    if (capacity <= 0)
+      throw new IllegalArgumentException("capacity (" + capacity + ") must be positive");
+
+    final int size = Integer.highestOneBit(Math.min(capacity, 1 << 30) * 2 - 1);
+    this.table = new String[size];
+    this.mask = size - 1;
+    this.maxLength = maxLength;
+  }
+
+  public StringCache() {
+    this(DEFAULT_CAPACITY, DEFAULT_MAX_LENGTH);
+  }
+
+  /**
+   * @param tokenizer The tokenizer positioned on a string token.
+   * @return The unescaped contents of the current string token, which is the
+   *         shared instance if an equal value was seen before.
+   * @throws DecodeException If an escape sequence is unterminated.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public String get(final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    final int length = tokenizer.getLength() - 2;
+    if (tokenizer.isEscaped() || length > maxLength)
+      return tokenizer.getString();
+
+    // Same as String.hashCode(), so a hit can be confirmed without rehashing
+    int hash = 0;
+    for (int i = 1; i <= length; ++i) {
+      final char ch = tokenizer.charAt(i);
+      if (ch >= 0x80)
+        return tokenizer.getString();
+
+      hash = 31 * hash + ch;
+    }
+
+    final int index = (hash ^ hash >>> 16) & mask;
+    final String cached = table[index];
+    if (cached != null && cached.hashCode() == hash && tokenizer.matchesString(cached))
+      return cached;
+
+    return table[index] = tokenizer.getString();
+  }
+}
\ No newline at end of file
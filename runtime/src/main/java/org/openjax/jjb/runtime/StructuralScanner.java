@@ -0,0 +1,155 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.nio.ByteOrder;
+
+/**
+ * Scanner of the structural bytes of UTF-8 JSON, which examines 8 bytes per
+ * step as the bytes of a {@code long} word (SWAR). The words are read from
+ * the array with {@code sun.misc.Unsafe}, if it is available, and otherwise
+ * the bytes are scanned one at a time.
+ */
+final class StructuralScanner {
+  private static final long ONES = 0x0101010101010101L;
+  private static final long LOW7 = 0x7F7F7F7F7F7F7F7FL;
+  private static final long HIGH = ~LOW7;
+  private static final long QUOTE = '"' * ONES;
+  private static final long BACKSLASH = '\\' * ONES;
+  private static final long SPACE = ' ' * ONES;
+  private static final long TAB = '\t' * ONES;
+  private static final long LF = '\n' * ONES;
+  private static final long CR = '\r' * ONES;
+  private static final boolean LITTLE_ENDIAN = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
+
+  /** {@code Unsafe.getLong(Object,long)} bound to the instance, or null */
+  private static final MethodHandle getLong;
+  private static final long BASE;
+
+  static {
+    MethodHandle handle = null;
+    long base = 0;
+    try {
+      final Class<?> type = Class.forName("sun.misc.Unsafe");
+      final Field field = type.getDeclaredField("theUnsafe");
+      field.setAccessible(true);
+      final Object unsafe = field.get(null);
+      base = type.getField("ARRAY_BYTE_BASE_OFFSET").getInt(null);
+      handle = MethodHandles.lookup().findVirtual(type, "getLong", MethodType.methodType(long.class, Object.class, long.class)).bindTo(unsafe);
+    }
+    catch (final ReflectiveOperationException | RuntimeException e) {
+      handle = null;
+    }
+
+    getLong = handle;
+    BASE = base;
+  }
+
+  /**
+   * @return Whether the bytes are scanned a word at a time.
+   */
+  static boolean isWide() {
+    return getLong != null;
+  }
+
+  private static long word(final byte[] bytes, final int index) {
+    try {
+      return (long)getLong.invokeExact((Object)bytes, BASE + index);
+    }
+    catch (final RuntimeException | Error e) {
+      throw e;
+    }
+    catch (final Throwable t) {
+      throw new IllegalStateException(t);
+    }
+  }
+
+  /**
+   * @return A word with the high bit set in each byte that is zero in the
+   *         specified word, and all other bits clear.
+   */
+  private static long zeros(final long word) {
+    return ~((word & LOW7) + LOW7 | word | LOW7);
+  }
+
+  /**
+   * @return The index, in memory order, of the first byte of the specified
+   *         mask of high bits.
+   */
+  private static int first(final long mask) {
+    return (LITTLE_ENDIAN ? Long.numberOfTrailingZeros(mask) : Long.numberOfLeadingZeros(mask)) >>> 3;
+  }
+
+  /**
+   * @param bytes The array.
+   * @param from The index of the first byte to scan.
+   * @param to The index after the last byte to scan.
+   * @return The index of the first {@code '"'} or {@code '\\'}, or {@code to}
+   *         if there is none.
+   */
+  static int indexOfQuoteOrBackslash(final byte[] bytes, int from, final int to) {
+    if (getLong != null) {
+      for (; from + 8 <= to; from += 8) {
+        final long word = word(bytes, from);
+        final long mask = zeros(word ^ QUOTE) | zeros(word ^ BACKSLASH);
+        if (mask != 0)
+          return from + first(mask);
+      }
+    }
+
+    for (; from < to; ++from)
+      if (bytes[from] == '"' || bytes[from] == '\\')
+        return from;
+
+    return to;
+  }
+
+  /**
+   * @param bytes The array.
+   * @param from The index of the first byte to scan.
+   * @param to The index after the last byte to scan.
+   * @return The index of the first byte that is not whitespace, or {@code to}
+   *         if there is none.
+   */
+  static int skipWhitespace(final byte[] bytes, int from, final int to) {
+    // Most runs of whitespace between tokens are empty
+    if (from < to && !JsonTokenizer.isWhitespace(bytes[from]))
+      return from;
+
+    if (getLong != null) {
+      for (; from + 8 <= to; from += 8) {
+        final long word = word(bytes, from);
+        final long mask = ~(zeros(word ^ SPACE) | zeros(word ^ TAB) | zeros(word ^ LF) | zeros(word ^ CR)) & HIGH;
+        if (mask != 0)
+          return from + first(mask);
+      }
+    }
+
+    for (; from < to; ++from)
+      if (!JsonTokenizer.isWhitespace(bytes[from]))
+        return from;
+
+    return to;
+  }
+
+  private StructuralScanner() {
+  }
+}
\ No newline at end of file
@@ -0,0 +1,366 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * {@link JsonTokenizer} of UTF-8 bytes, which either reads the underlying
+ * {@link InputStream} in bulk into a {@code byte[]} buffer, or tokenizes a
+ * region of a {@code byte[]} in place. Structural chars, numbers and literals
+ * are handled as ASCII bytes, and chars are only decoded for the contents of
+ * strings.
+ */
+public class Utf8JsonTokenizer extends JsonTokenizer {
+  private static char hex(final JsonTokenizer tokenizer, final byte[] bytes, final int index) throws DecodeException, IOException {
+    int value = 0;
+    for (int i = index; i < index + 4; ++i) {
+      final int digit = Character.digit(bytes[i], 16);
+      if (digit == -1)
+        throw new DecodeException("Illegal unicode escape sequence: \"\\u" + new String(bytes, index, 4, StandardCharsets.UTF_8) + "\"", tokenizer);
+
+      value = value << 4 | digit;
+    }
+
+    return (char)value;
+  }
+
+  /**
+   * Decodes the UTF-8 bytes in the specified range of the provided array,
+   * unescaping any escape sequences if {@code escaped} is true. Malformed
+   * UTF-8 is replaced with U+FFFD whether or not the string is escaped, as the
+   * bytes between escape sequences are decoded by the same decoder as a string
+   * that is not escaped.
+   */
+  static String decode(final JsonTokenizer tokenizer, final byte[] bytes, final int from, final int to, final boolean escaped) throws DecodeException, IOException {
+    if (!escaped)
+      return new String(bytes, from, to - from, StandardCharsets.UTF_8);
+
+    // The UTF-16 length of a UTF-8 sequence, or of its replacement, never
+    // exceeds its byte length
+    final char[] chars = tokenizer.scratch(to - from);
+    int length = 0;
+    for (int i = from; i < to;) {
+      final int b = bytes[i];
+      if (b == '\\') {
+        if (bytes[++i] != 'u') {
+          chars[length++] = unescape((char)bytes[i++]);
+        }
+        else {
+          if (i + 4 >= to)
+            throw new DecodeException("Unterminated escape sequence", tokenizer);
+
+          chars[length++] = hex(tokenizer, bytes, i + 1);
+          i += 5;
+        }
+      }
+      else if (b >= 0) {
+        chars[length++] = (char)b;
+        ++i;
+      }
+      else {
+        // A sequence never spans an escape, as '\\' is not a continuation byte
+        int next = i + 1;
+        while (next < to && bytes[next] != '\\')
+          ++next;
+
+        final String run = new String(bytes, i, next - i, StandardCharsets.UTF_8);
+        run.getChars(0, run.length(), chars, length);
+        length += run.length();
+        i = next;
+      }
+    }
+
+    return new String(chars, 0, length);
+  }
+
+  private final InputStream in;
+  private final boolean lazy;
+  private InputHistory history;
+  private byte[] buffer;
+  private int limit;
+  private int pos;
+  private String full;
+
+  public Utf8JsonTokenizer(final InputStream in) {
+    this(in, DEFAULT_BUFFER_SIZE, false);
+  }
+
+  public Utf8JsonTokenizer(final InputStream in, final int bufferSize) {
+    this(in, bufferSize, false);
+  }
+
+  /**
+   * @param in The underlying stream.
+   * @param bufferSize The initial size of the buffer.
+   * @param retain If {@code true}, the whole input is retained for
+   *          {@link #readFully()}; otherwise only a bounded ring of the most
+   *          recent input is kept for the context of errors.
+   */
+  public Utf8JsonTokenizer(final InputStream in, final int bufferSize, final boolean retain) {
+    this.in = in;
+    this.lazy = false;
+    this.history = retain ? new InputHistory(bufferSize, true, true) : new InputHistory(InputHistory.DEFAULT_WINDOW, false, true);
+    this.buffer = new byte[bufferSize];
+  }
+
+  /**
+   * Creates a bounded tokenizer of the specified stream, the buffers of which
+   * are those of the specified context.
+   */
+  Utf8JsonTokenizer(final InputStream in, final JsonContext context) {
+    this.in = in;
+    this.lazy = false;
+    this.history = new InputHistory(context.window(), false, true);
+    this.buffer = context.bytes();
+    this.context = context;
+  }
+
+  /**
+   * Creates a tokenizer of the specified region of the provided array, which
+   * is read in place, and is not modified.
+   *
+   * @param bytes The array of UTF-8 bytes.
+   * @param offset The offset of the region in the array.
+   * @param length The length of the region.
+   */
+  public Utf8JsonTokenizer(final byte[] bytes, final int offset, final int length) {
+    this(bytes, offset, offset, offset + length, false);
+    if (offset < 0 || length < 0 || offset + length > bytes.length)
+      throw new IndexOutOfBoundsException("offset: " + offset + ", length: " + length + ", bytes.length: " + bytes.length);
+  }
+
+  /**
+   * Creates a tokenizer of the region {@code [from, to)} of a document that
+   * starts at {@code offset} in the provided array, such that positions are
+   * reported relative to the start of the document.
+   *
+   * @param lazy Whether the properties of objects are decoded lazily from
+   *          the array, which must then remain unmodified.
+   */
+  Utf8JsonTokenizer(final byte[] bytes, final int offset, final int from, final int to, final boolean lazy) {
+    this.in = null;
+    this.lazy = lazy;
+    this.buffer = bytes;
+    this.pos = from;
+    this.start = from;
+    this.limit = to;
+    this.offset = -offset;
+  }
+
+  public byte[] getBuffer() {
+    return buffer;
+  }
+
+  @Override
+  void setOptions(final DecodeOptions options) throws DecodeException, IOException {
+    super.setOptions(options);
+    if (in == null)
+      checkInput((long)limit + offset);
+  }
+
+  @Override
+  boolean isLazy() {
+    return lazy;
+  }
+
+  /**
+   * Reads more bytes into the buffer. The bytes of the current token are
+   * shifted to the head of the buffer, and the buffer is grown if the token
+   * alone occupies all of it.
+   *
+   * @return {@code false} if the end of the stream has been reached.
+   * @throws DecodeException If the input exceeds a limit of the options.
+   * @throws IOException If an I/O error has occurred.
+   */
+  private boolean fill() throws DecodeException, IOException {
+    if (in == null)
+      return false;
+
+    if (start > 0) {
+      System.arraycopy(buffer, start, buffer, 0, limit - start);
+      offset += start;
+      limit -= start;
+      pos -= start;
+      start = 0;
+    }
+    else if (limit == buffer.length) {
+      checkGrowth((char)(buffer[0] & 0xFF), limit);
+      buffer = Arrays.copyOf(buffer, buffer.length * 2);
+    }
+
+    final int read = in.read(buffer, limit, buffer.length - limit);
+    if (read == -1)
+      return false;
+
+    history.write(buffer, limit, read);
+    limit += read;
+    checkInput((long)offset + limit);
+    return true;
+  }
+
+  @Override
+  boolean isEnd() throws DecodeException, IOException {
+    while ((pos = StructuralScanner.skipWhitespace(buffer, pos, limit)) == limit) {
+      start = pos;
+      if (!fill())
+        return true;
+    }
+
+    return false;
+  }
+
+  @Override
+  public char nextToken() throws DecodeException, IOException {
+    while ((pos = StructuralScanner.skipWhitespace(buffer, pos, limit)) == limit) {
+      start = pos;
+      if (!fill())
+        throw new IOException("EOS");
+    }
+
+    final byte ch = buffer[pos++];
+    start = pos - 1;
+    escaped = false;
+    if (ch == '"')
+      scanString();
+    else if ('0' <= ch && ch <= '9' || ch == '-')
+      while ((pos < limit || fill()) && isNumber(buffer[pos]))
+        ++pos;
+    else if (isLiteral(ch))
+      while ((pos < limit || fill()) && isLiteral(buffer[pos]))
+        ++pos;
+
+    end = pos;
+    final char token = (char)(ch & 0xFF);
+    checkToken(token);
+    return token;
+  }
+
+  @Override
+  public void skipValue(final char ch) throws DecodeException, IOException {
+    if (ch != '[' && ch != '{')
+      return;
+
+    for (int depth = 1;;) {
+      if (pos == limit) {
+        // Nothing before pos is needed, so the buffer is not grown
+        start = pos;
+        if (!fill())
+          throw new IOException("EOS");
+      }
+
+      final byte next = buffer[pos++];
+      if (next == '"') {
+        // Scanned without scanString(), so that the buffer is not grown
+        while (true) {
+          while ((pos = StructuralScanner.indexOfQuoteOrBackslash(buffer, pos, limit)) == limit) {
+            start = pos;
+            if (!fill())
+              throw new IOException("EOS");
+          }
+
+          final byte b = buffer[pos++];
+          if (b == '"')
+            break;
+
+          if (b == '\\') {
+            if (pos == limit) {
+              start = pos;
+              if (!fill())
+                throw new IOException("EOS");
+            }
+
+            ++pos;
+          }
+        }
+      }
+      else if (next == '[' || next == '{') {
+        ++depth;
+      }
+      else if ((next == ']' || next == '}') && --depth == 0) {
+        start = pos - 1;
+        end = pos;
+        escaped = false;
+        return;
+      }
+    }
+  }
+
+  private void scanString() throws DecodeException, IOException {
+    while (true) {
+      while ((pos = StructuralScanner.indexOfQuoteOrBackslash(buffer, pos, limit)) == limit)
+        if (!fill())
+          throw new IOException("EOS");
+
+      final byte ch = buffer[pos++];
+      if (ch == '"')
+        return;
+
+      if (ch == '\\') {
+        escaped = true;
+        if (pos == limit && !fill())
+          throw new IOException("EOS");
+
+        ++pos;
+      }
+    }
+  }
+
+  @Override
+  public char charAt(final int index) {
+    return (char)(buffer[start + index] & 0xFF);
+  }
+
+  @Override
+  public String getText() {
+    return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+  }
+
+  @Override
+  public String getString() throws DecodeException, IOException {
+    return decode(this, buffer, start + 1, end - 1, escaped);
+  }
+
+  @Override
+  InputHistory getHistory() {
+    // An in-memory document is not copied, but only a window around the
+    // current token, as the error context of a stream is bounded
+    if (history == null)
+      history = InputHistory.window(ByteBuffer.wrap(buffer), -offset, start, limit);
+
+    return history;
+  }
+
+  @Override
+  public String readFully() throws IOException {
+    if (full != null)
+      return full;
+
+    if (in == null || !history.isRetained())
+      return null;
+
+    final byte[] bytes = new byte[DEFAULT_BUFFER_SIZE];
+    for (int read; (read = in.read(bytes)) != -1;)
+      history.write(bytes, 0, read);
+
+    return full = history.getInput();
+  }
+}
\ No newline at end of file
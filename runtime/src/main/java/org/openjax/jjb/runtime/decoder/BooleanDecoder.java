@@ -21,29 +21,21 @@ import java.io.IOException;
 import org.openjax.jjb.runtime.Binding;
 import org.openjax.jjb.runtime.DecodeException;
 import org.openjax.jjb.runtime.JSObjectBase;
-import org.openjax.jjb.runtime.JsonReader;
+import org.openjax.jjb.runtime.JsonTokenizer;
 
 public class BooleanDecoder extends Decoder<Boolean> {
   @Override
-  protected Boolean[] newInstance(final int depth) {
-    return new Boolean[depth];
-  }
-
-  @Override
-  public Boolean decode(final JsonReader reader, char ch, final Binding<?> binding) throws DecodeException, IOException {
+  public Boolean decode(final JsonTokenizer tokenizer, char ch, final Binding<?> binding) throws DecodeException, IOException {
     if (ch != 'f' && ch != 't') {
-      if (JSObjectBase.isNull(ch, reader))
+      if (JSObjectBase.isNull(ch, tokenizer))
         return null;
 
-      throw new DecodeException("Illegal char for " + getClass().getSimpleName() + ": " + ch, reader);
+      throw new DecodeException("Illegal char for " + getClass().getSimpleName() + ": " + ch, tokenizer);
     }
 
-    final StringBuilder value = new StringBuilder(5);
-    value.append(ch);
-    do
-      value.append(JSObjectBase.next(reader));
-    while ((value.length() != 4 || !"true".equals(value.toString())) && (value.length() != 5 || !"false".equals(value.toString())));
+    if (ch == 't' ? tokenizer.matches("true") : tokenizer.matches("false"))
+      return ch == 't';
 
-    return Boolean.parseBoolean(value.toString());
+    throw new DecodeException("Illegal value for " + getClass().getSimpleName() + ": " + tokenizer.getText(), tokenizer);
   }
 }
\ No newline at end of file
@@ -21,24 +21,8 @@ import java.io.IOException;
 import org.openjax.jjb.runtime.Binding;
 import org.openjax.jjb.runtime.DecodeException;
 import org.openjax.jjb.runtime.JSObjectBase;
-import org.openjax.jjb.runtime.JsonReader;
+import org.openjax.jjb.runtime.JsonTokenizer;
 
 public abstract class Decoder<T> extends JSObjectBase {
-  protected abstract T[] newInstance(int depth);
-
-  public abstract T decode(JsonReader reader, char ch, Binding<?> binding) throws DecodeException, IOException;
-
-  public final T[] recurse(final JsonReader reader, final int depth, final Binding<?> binding) throws DecodeException, IOException {
-    final char ch = JSObjectBase.next(reader);
-    if (ch == ']')
-      return newInstance(depth);
-
-    if (ch == ',')
-      return recurse(reader, depth, binding);
-
-    final T value = decode(reader, ch, binding);
-    final T[] array = recurse(reader, depth + 1, binding);
-    array[depth] = value;
-    return array;
-  }
+  public abstract T decode(JsonTokenizer tokenizer, char ch, Binding<?> binding) throws DecodeException, IOException;
 }
\ No newline at end of file
@@ -17,27 +17,16 @@
 package org.openjax.jjb.runtime.decoder;
 
 import java.io.IOException;
-import java.lang.reflect.InvocationTargetException;
 
 import org.openjax.jjb.runtime.Binding;
 import org.openjax.jjb.runtime.DecodeException;
 import org.openjax.jjb.runtime.JSObject;
 import org.openjax.jjb.runtime.JSObjectBase;
-import org.openjax.jjb.runtime.JsonReader;
+import org.openjax.jjb.runtime.JsonTokenizer;
 
 public class JSObjectDecoder extends Decoder<JSObject> {
   @Override
-  protected JSObject[] newInstance(final int depth) {
-    return new JSObject[depth];
-  }
-
-  @Override
-  public JSObject decode(final JsonReader reader, char ch, final Binding<?> clazz) throws DecodeException, IOException {
-    try {
-      return JSObjectBase.decode(reader, ch, clazz.type == null ? null : (JSObject)clazz.type.getDeclaredConstructor().newInstance());
-    }
-    catch (final IllegalAccessException | InstantiationException | InvocationTargetException | NoSuchMethodException e) {
-      throw new UnsupportedOperationException(e);
-    }
+  public JSObject decode(final JsonTokenizer tokenizer, char ch, final Binding<?> clazz) throws DecodeException, IOException {
+    return JSObjectBase.decode(tokenizer, ch, clazz.type == null ? null : newInstance(clazz.type));
   }
 }
\ No newline at end of file
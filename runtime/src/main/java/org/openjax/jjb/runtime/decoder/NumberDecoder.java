@@ -23,48 +23,161 @@ import java.math.BigInteger;
 import org.openjax.jjb.runtime.Binding;
 import org.openjax.jjb.runtime.DecodeException;
 import org.openjax.jjb.runtime.JSObjectBase;
-import org.openjax.jjb.runtime.JsonReader;
+import org.openjax.jjb.runtime.JsonTokenizer;
 
 public class NumberDecoder extends Decoder<Number> {
-  @Override
-  protected Number[] newInstance(final int depth) {
-    return new Number[depth];
+  private static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22};
+
+  /**
+   * Parses the current number token as a {@code long}, directly from the chars
+   * of the token.
+   *
+   * @param tokenizer The tokenizer.
+   * @return The {@code long} value of the current number token.
+   * @throws DecodeException If the number is not an integer, or is out of the
+   *           range of {@code long}.
+   * @throws IOException If an I/O error has occurred.
+   */
+  public static long parseLong(final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    final int length = tokenizer.getLength();
+    final boolean negative = tokenizer.charAt(0) == '-';
+    final long limit = negative ? Long.MIN_VALUE : -Long.MAX_VALUE;
+    final long multmin = limit / 10;
+    int i = negative ? 1 : 0;
+    if (i == length)
+      throw new DecodeException("Illegal number: \"" + tokenizer.getText() + "\"", tokenizer);
+
+    // Accumulate negatively, so as to reach Long.MIN_VALUE
+    long value = 0;
+    for (; i < length; ++i) {
+      final char ch = tokenizer.charAt(i);
+      if (ch < '0' || '9' < ch) {
+        if (ch == '.' || ch == 'e' || ch == 'E')
+          throw new DecodeException("is not an \"integer\" number: \"" + tokenizer.getText() + "\"", tokenizer);
+
+        throw new DecodeException("Illegal number: \"" + tokenizer.getText() + "\"", tokenizer);
+      }
+
+      final int digit = ch - '0';
+      if (value < multmin || (value *= 10) < limit + digit)
+        throw new DecodeException("is out of range of \"int64\": \"" + tokenizer.getText() + "\"", tokenizer);
+
+      value -= digit;
+    }
+
+    return negative ? value : -value;
+  }
+
+  /**
+   * Parses the current number token as a {@code double}. Numbers of up to 15
+   * significant digits with a decimal exponent of up to 22 are computed
+   * exactly from the chars of the token, and all others are delegated to
+   * {@link Double#parseDouble(String)}.
+   *
+   * @param tokenizer The tokenizer.
+   * @return The {@code double} value of the current number token.
+   * @throws NumberFormatException If the number is malformed.
+   */
+  public static double parseDouble(final JsonTokenizer tokenizer) {
+    final int length = tokenizer.getLength();
+    final boolean negative = tokenizer.charAt(0) == '-';
+    int i = negative ? 1 : 0;
+    long mantissa = 0;
+    boolean any = false;
+    int digits = 0;
+    int scale = 0;
+    boolean fraction = false;
+    char ch = '\0';
+    for (; i < length; ++i) {
+      ch = tokenizer.charAt(i);
+      if ('0' <= ch && ch <= '9') {
+        any = true;
+        if (digits > 0 || ch != '0')
+          ++digits;
+
+        if (digits > 15)
+          return Double.parseDouble(tokenizer.getText());
+
+        mantissa = mantissa * 10 + (ch - '0');
+        if (fraction)
+          --scale;
+      }
+      else if (ch == '.' && !fraction) {
+        fraction = true;
+      }
+      else {
+        break;
+      }
+    }
+
+    if (!any)
+      return Double.parseDouble(tokenizer.getText());
+
+    if (i < length) {
+      if (ch != 'e' && ch != 'E' || ++i == length)
+        return Double.parseDouble(tokenizer.getText());
+
+      final boolean negativeExponent = tokenizer.charAt(i) == '-';
+      if ((negativeExponent || tokenizer.charAt(i) == '+') && ++i == length)
+        return Double.parseDouble(tokenizer.getText());
+
+      int exponent = 0;
+      for (; i < length; ++i) {
+        ch = tokenizer.charAt(i);
+        if (ch < '0' || '9' < ch || exponent > 1000)
+          return Double.parseDouble(tokenizer.getText());
+
+        exponent = exponent * 10 + (ch - '0');
+      }
+
+      scale += negativeExponent ? -exponent : exponent;
+    }
+
+    if (scale < -22 || 22 < scale)
+      return Double.parseDouble(tokenizer.getText());
+
+    final double value = scale < 0 ? mantissa / POWERS_OF_TEN[-scale] : mantissa * POWERS_OF_TEN[scale];
+    return negative ? -value : value;
   }
 
   @Override
-  public Number decode(final JsonReader reader, char ch, final Binding<?> binding) throws DecodeException, IOException {
+  public Number decode(final JsonTokenizer tokenizer, char ch, final Binding<?> binding) throws DecodeException, IOException {
     if (('0' > ch || ch > '9') && ch != '-') {
-      if (JSObjectBase.isNull(ch, reader))
+      if (JSObjectBase.isNull(ch, tokenizer))
         return null;
 
-      throw new DecodeException("Illegal char for " + getClass().getSimpleName() + ": " + ch, reader);
+      throw new DecodeException("Illegal char for " + getClass().getSimpleName() + ": " + ch, tokenizer);
     }
 
-    final StringBuilder value = new StringBuilder();
-    char lastChar = '\0';
-    boolean isDecimal = false;
-    do {
-      isDecimal |= ch == '.' || ((lastChar == 'e' || lastChar == 'E') && ch == '-');
-      lastChar = ch;
+    if (binding.type == Long.class)
+      return parseLong(tokenizer);
 
-      value.append(ch);
-      reader.mark(1);
+    if (binding.type == Double.class) {
+      try {
+        return parseDouble(tokenizer);
+      }
+      catch (final NumberFormatException e) {
+        throw new DecodeException("Illegal number: \"" + tokenizer.getText() + "\"", tokenizer, e);
+      }
     }
-    while ('0' <= (ch = JSObjectBase.nextAny(reader)) && ch <= '9' || ch == '.' || ch == 'e' || ch == 'E' || ch == '-');
-    reader.reset();
 
-    final String number = value.toString();
+    final String number = tokenizer.getText();
     if (binding.type == BigDecimal.class)
       return new BigDecimal(number);
 
     if (binding.type != null && binding.type != BigInteger.class)
       throw new UnsupportedOperationException("Unsupported number type: " + binding.type.getName());
 
+    char lastChar = '\0';
+    boolean isDecimal = false;
+    for (int i = 0, length = tokenizer.getLength(); i < length; lastChar = tokenizer.charAt(i++))
+      isDecimal |= tokenizer.charAt(i) == '.' || ((lastChar == 'e' || lastChar == 'E') && tokenizer.charAt(i) == '-');
+
     if (isDecimal) {
       if (binding.type == null)
         return new BigDecimal(number);
 
-      throw new DecodeException("is not an \"integer\" number: \"" + value + "\"", reader);
+      throw new DecodeException("is not an \"integer\" number: \"" + number + "\"", tokenizer);
     }
 
     return new BigInteger(number);
@@ -21,7 +21,7 @@ import java.io.IOException;
 import org.openjax.jjb.runtime.Binding;
 import org.openjax.jjb.runtime.DecodeException;
 import org.openjax.jjb.runtime.JSObjectBase;
-import org.openjax.jjb.runtime.JsonReader;
+import org.openjax.jjb.runtime.JsonTokenizer;
 
 public class ObjectDecoder extends Decoder<Object> {
   private final JSObjectDecoder objectDecoder;
@@ -37,30 +37,25 @@ public class ObjectDecoder extends Decoder<Object> {
   }
 
   @Override
-  protected Object[] newInstance(final int depth) {
-    return new Object[depth];
-  }
-
-  @Override
-  public Object decode(final JsonReader reader, char ch, final Binding<?> binding) throws DecodeException, IOException {
+  public Object decode(final JsonTokenizer tokenizer, char ch, final Binding<?> binding) throws DecodeException, IOException {
     if (ch == '"')
-      return stringDecoder.decode(reader, ch, binding);
+      return stringDecoder.decode(tokenizer, ch, binding);
 
-    if ('0' <= ch && ch <= '9' || ch == '.')
-      return numberDecoder.decode(reader, ch, binding);
+    if ('0' <= ch && ch <= '9' || ch == '-')
+      return numberDecoder.decode(tokenizer, ch, binding);
 
     if (ch == 't' || ch == 'f')
-      return booleanDecoder.decode(reader, ch, binding);
+      return booleanDecoder.decode(tokenizer, ch, binding);
 
     if (ch == '{')
-      return objectDecoder.decode(reader, ch, binding);
+      return objectDecoder.decode(tokenizer, ch, binding);
 
     if (ch == '[')
-      return decodeValue(ch, reader, null, Binding.ANY);
+      return decodeValue(ch, tokenizer, Binding.ANY);
 
-    if (JSObjectBase.isNull(ch, reader))
+    if (JSObjectBase.isNull(ch, tokenizer))
       return null;
 
-    throw new DecodeException("Illegal char for " + getClass().getSimpleName() + ": " + ch, reader);
+    throw new DecodeException("Illegal char for " + getClass().getSimpleName() + ": " + ch, tokenizer);
   }
 }
\ No newline at end of file
@@ -22,7 +22,7 @@ import org.openjax.standard.net.URIComponent;
 import org.openjax.jjb.runtime.Binding;
 import org.openjax.jjb.runtime.DecodeException;
 import org.openjax.jjb.runtime.JSObjectBase;
-import org.openjax.jjb.runtime.JsonReader;
+import org.openjax.jjb.runtime.JsonTokenizer;
 
 public class StringDecoder extends Decoder<String> {
   public static String escapeString(final String string) {
@@ -65,75 +65,16 @@ public class StringDecoder extends Decoder<String> {
     return out.toString();
   }
 
-  /**
-   * Unescapes the specified character, which is identified by the character or
-   * characters that immediately follow a backslash. The backslash '\' should
-   * have already been read. This supports both unicode escapes "u000A" and
-   * two-character escapes "\n".
-   *
-   * @return The escaped character.
-   * @throws IOException If an I/O error has occurred.
-   * @throws DecodeException If the escape sequence is unterminated.
-   * @throws NumberFormatException if any unicode escape sequences are
-   *           malformed.
-   */
-  private static char readEscaped(final JsonReader reader, final char escaped) throws DecodeException, IOException {
-    switch (escaped) {
-      case 'u':
-        final char[] unicode = new char[4];
-        for (int i = 0; i < unicode.length; ++i) {
-          final int ch = reader.read();
-          if (ch == -1)
-            throw new DecodeException("Unterminated escape sequence", reader);
-
-          unicode[i] = (char)ch;
-        }
-
-        return (char)Integer.parseInt(new String(unicode), 16);
-      case 't':
-        return '\t';
-      case 'b':
-        return '\b';
-      case 'n':
-        return '\n';
-      case 'r':
-        return '\r';
-      case 'f':
-        return '\f';
-      case '\'':
-      case '"':
-      case '\\':
-      default:
-        return escaped;
-    }
-  }
-
-  @Override
-  protected String[] newInstance(final int depth) {
-    return new String[depth];
-  }
-
   @Override
-  public String decode(final JsonReader reader, char ch, final Binding<?> binding) throws DecodeException, IOException {
+  public String decode(final JsonTokenizer tokenizer, char ch, final Binding<?> binding) throws DecodeException, IOException {
     if (ch != '"') {
-      if (JSObjectBase.isNull(ch, reader))
+      if (JSObjectBase.isNull(ch, tokenizer))
         return null;
 
-      throw new DecodeException("Illegal char for " + getClass().getSimpleName() + ": " + ch, reader);
-    }
-
-    boolean escape = false;
-    final StringBuilder builder = new StringBuilder();
-    while ((ch = JSObjectBase.nextAny(reader)) != '"' || escape) {
-      if (escape && ch != '"') {
-        builder.append(readEscaped(reader, ch));
-        escape = false;
-      }
-      else if (!(escape = ch == '\\')) {
-        builder.append(ch);
-      }
+      throw new DecodeException("Illegal char for " + getClass().getSimpleName() + ": " + ch, tokenizer);
     }
 
-    return binding != null && binding.urlDecode ? URIComponent.decode(builder.toString(), "UTF-8") : builder.toString();
+    final String value = binding != null && binding.dedup ? tokenizer.getCachedString() : tokenizer.getString();
+    return binding != null && binding.urlDecode ? URIComponent.decode(value, "UTF-8") : value;
   }
 }
\ No newline at end of file
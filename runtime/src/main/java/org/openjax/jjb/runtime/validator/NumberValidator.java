@@ -18,16 +18,47 @@ package org.openjax.jjb.runtime.validator;
 
 import java.math.BigDecimal;
 import java.math.BigInteger;
+import java.math.RoundingMode;
 
 import org.openjax.standard.util.Numbers;
 
 public class NumberValidator extends Validator<Number> {
+  private static final BigDecimal LONG_MIN = BigDecimal.valueOf(Long.MIN_VALUE);
+  private static final BigDecimal LONG_MAX = BigDecimal.valueOf(Long.MAX_VALUE);
+
+  private static String toString(final String formError, final String minError, final String maxError, final Object value) {
+    if (formError == null && minError == null && maxError == null)
+      return null;
+
+    final StringBuilder builder = new StringBuilder();
+    if (formError != null)
+      builder.append(", and ").append(formError);
+
+    if (minError != null)
+      builder.append(", and ").append(minError);
+
+    if (maxError != null)
+      builder.append(", and ").append(maxError);
+
+    return builder.append(" (\"").append(value).append("\")").substring(6);
+  }
+
   private final boolean integer;
   private final BigDecimal min;
   private final boolean minInclusive;
   private final BigDecimal max;
   private final boolean maxInclusive;
 
+  // The bounds as the least and greatest valid long values
+  private final long minLong;
+  private final long maxLong;
+  // Whether a bound is beyond the range of long, so that no long is valid
+  private final boolean emptyRange;
+
+  // The bounds as doubles, for the inclusive or exclusive comparison of doubles
+  private final double minDouble;
+  private final double maxDouble;
+
   public NumberValidator(final boolean integer, final BigDecimal min, final boolean minInclusive, final BigDecimal max, final boolean maxInclusive) {
     super(Number.class);
     this.integer = integer;
@@ -35,31 +66,79 @@ public class NumberValidator extends Validator<Number> {
     this.minInclusive = minInclusive;
     this.max = max;
     this.maxInclusive = maxInclusive;
+
+    boolean emptyRange = false;
+    if (min == null) {
+      this.minLong = Long.MIN_VALUE;
+    }
+    else {
+      final BigDecimal ceiling = min.setScale(0, RoundingMode.CEILING);
+      final BigDecimal least = !minInclusive && ceiling.compareTo(min) == 0 ? ceiling.add(BigDecimal.ONE) : ceiling;
+      emptyRange = least.compareTo(LONG_MAX) > 0;
+      this.minLong = least.compareTo(LONG_MIN) < 0 ? Long.MIN_VALUE : emptyRange ? Long.MAX_VALUE : least.longValue();
+    }
+
+    if (max == null) {
+      this.maxLong = Long.MAX_VALUE;
+    }
+    else {
+      final BigDecimal floor = max.setScale(0, RoundingMode.FLOOR);
+      final BigDecimal greatest = !maxInclusive && floor.compareTo(max) == 0 ? floor.subtract(BigDecimal.ONE) : floor;
+      final boolean belowLong = greatest.compareTo(LONG_MIN) < 0;
+      emptyRange |= belowLong;
+      this.maxLong = greatest.compareTo(LONG_MAX) > 0 ? Long.MAX_VALUE : belowLong ? Long.MIN_VALUE : greatest.longValue();
+    }
+
+    this.emptyRange = emptyRange;
+
+    this.minDouble = min == null ? Double.NEGATIVE_INFINITY : min.doubleValue();
+    this.maxDouble = max == null ? Double.POSITIVE_INFINITY : max.doubleValue();
   }
 
-  @Override
-  public String validate(final Number value) {
-    if (value == null)
-      return null;
+  private String minError() {
+    return "min " + (minInclusive ? "inclusive" : "exclusive") + " bound \"" + min.stripTrailingZeros().toPlainString() + "\" violated";
+  }
 
-    final String formError = !integer || value instanceof BigInteger ? null : "is not an \"integer\" number";
+  private String maxError() {
+    return "max " + (maxInclusive ? "inclusive" : "exclusive") + " bound \"" + max.stripTrailingZeros().toPlainString() + "\" violated";
+  }
 
-    final String minError = min == null || Integer.compare(Numbers.compare(min, value), 0) < (minInclusive ? 1 : 0) ? null : "min " + (minInclusive ? "inclusive" : "exclusive") + " bound \"" + min.stripTrailingZeros().toPlainString() + "\" violated";
-    final String maxError = max == null || Integer.compare(Numbers.compare(value, max), 0) < (maxInclusive ? 1 : 0) ? null : "max " + (maxInclusive ? "inclusive" : "exclusive") + " bound \"" + max.stripTrailingZeros().toPlainString() + "\" violated";
+  /**
+   * Validates the specified {@code long} value without boxing it.
+   *
+   * @param value The value.
+   * @return The error, or {@code null} if the value is valid.
+   */
+  public String validate(final long value) {
+    // The clamped bounds would admit the extreme long, which is checked exactly instead
+    if (emptyRange)
+      return validate(Long.valueOf(value));
 
-    if (formError == null && minError == null && maxError == null)
-      return null;
+    return minLong <= value && value <= maxLong ? null : toString(null, value < minLong ? minError() : null, value > maxLong ? maxError() : null, value);
+  }
 
-    final StringBuilder builder = new StringBuilder();
-    if (formError != null)
-      builder.append(", and ").append(formError);
+  /**
+   * Validates the specified {@code double} value without boxing it.
+   *
+   * @param value The value.
+   * @return The error, or {@code null} if the value is valid.
+   */
+  public String validate(final double value) {
+    final String formError = !integer || value == Math.rint(value) ? null : "is not an \"integer\" number";
+    final String minError = min == null || (minInclusive ? value >= minDouble : value > minDouble) ? null : minError();
+    final String maxError = max == null || (maxInclusive ? value <= maxDouble : value < maxDouble) ? null : maxError();
+    return toString(formError, minError, maxError, value);
+  }
 
-    if (minError != null)
-      builder.append(", and ").append(minError);
+  @Override
+  public String validate(final Number value) {
+    if (value == null)
+      return null;
 
-    if (maxError != null)
-      builder.append(", and ").append(maxError);
+    final String formError = !integer || value instanceof BigInteger || value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte ? null : "is not an \"integer\" number";
 
-    return builder.append(" (\"").append(value).append("\")").substring(6);
+    final String minError = min == null || Integer.compare(Numbers.compare(min, value), 0) < (minInclusive ? 1 : 0) ? null : minError();
+    final String maxError = max == null || Integer.compare(Numbers.compare(value, max), 0) < (maxInclusive ? 1 : 0) ? null : maxError();
+    return toString(formError, minError, maxError, value);
   }
 }
\ No newline at end of file
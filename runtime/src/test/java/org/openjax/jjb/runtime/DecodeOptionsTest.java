@@ -0,0 +1,132 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class DecodeOptionsTest {
+  private static void assertLimit(final String expected, final String json, final DecodeOptions options) throws IOException {
+    for (int mode = 0; mode < 3; ++mode) {
+      try {
+        if (mode == 0)
+          JSObject.parse(JSArray.class, new StringReader(json), options);
+        else if (mode == 1)
+          JSObject.parse(JSArray.class, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), options);
+        else
+          JSObject.parse(JSArray.class, json.getBytes(StandardCharsets.UTF_8), options);
+
+        fail("Expected DecodeException");
+      }
+      catch (final DecodeException e) {
+        assertTrue(e.getMessage(), e.getMessage().startsWith(expected));
+      }
+    }
+  }
+
+  @Test
+  public void testWithin() throws DecodeException, IOException {
+    final DecodeOptions options = DecodeOptions.DEFAULT.withMaxDepth(3).withMaxArrayLength(3).withMaxStringLength(3).withMaxNumberLength(3).withMaxInputLength(32);
+    final JSArray<?> array = JSObject.parse(JSArray.class, new StringReader("[[[\"abc\"]], 123, {\"a\": \"b\"}]"), options);
+    assertEquals(3, array.size());
+  }
+
+  @Test
+  public void testMaxDepth() throws IOException {
+    assertLimit("Depth exceeds the limit of 2", "[[[1]]]", DecodeOptions.DEFAULT.withMaxDepth(2));
+    assertLimit("Depth exceeds the limit of 2", "[[{\"a\": 1}]]", DecodeOptions.DEFAULT.withMaxDepth(2));
+  }
+
+  @Test
+  public void testMaxArrayLength() throws IOException {
+    assertLimit("Array length exceeds the limit of 2", "[1, 2, 3]", DecodeOptions.DEFAULT.withMaxArrayLength(2));
+    assertLimit("Array length exceeds the limit of 2", "[[], [[true, false, true]]]", DecodeOptions.DEFAULT.withMaxArrayLength(2));
+  }
+
+  @Test
+  public void testMaxStringLength() throws IOException {
+    assertLimit("String length exceeds the limit of 3", "[\"abcd\"]", DecodeOptions.DEFAULT.withMaxStringLength(3));
+    assertLimit("String length exceeds the limit of 3", "[{\"abcd\": 1}]", DecodeOptions.DEFAULT.withMaxStringLength(3));
+  }
+
+  @Test
+  public void testMaxNumberLength() throws IOException {
+    assertLimit("Number length exceeds the limit of 5", "[1, -12345]", DecodeOptions.DEFAULT.withMaxNumberLength(5));
+  }
+
+  @Test
+  public void testMaxInputLength() throws IOException {
+    final StringBuilder builder = new StringBuilder("[0");
+    for (int i = 0; i < 10000; ++i)
+      builder.append(", 0");
+
+    assertLimit("Input length exceeds the limit of 1000", builder.append(']').toString(), DecodeOptions.DEFAULT.withMaxInputLength(1000));
+  }
+
+  @Test
+  public void testTokenLength() throws IOException {
+    final StringBuilder builder = new StringBuilder("[\"");
+    for (int i = 0; i < 100000; ++i)
+      builder.append('a');
+
+    try {
+      JSObject.parse(JSArray.class, new ByteArrayInputStream(builder.toString().getBytes(StandardCharsets.UTF_8)), DecodeOptions.DEFAULT.withMaxStringLength(10000));
+      fail("Expected DecodeException");
+    }
+    catch (final DecodeException e) {
+      assertTrue(e.getMessage(), e.getMessage().startsWith("String length exceeds the limit of 10000"));
+    }
+  }
+
+  @Test
+  public void testInputLengthInMemory() throws IOException {
+    final byte[] json = new byte[1 << 24];
+    Arrays.fill(json, (byte)' ');
+    json[0] = '[';
+    json[json.length - 1] = ']';
+    json[3] = '[';
+    for (int mode = 0; mode < 4; ++mode) {
+      try {
+        if (mode == 0)
+          JSObject.parse(JSArray.class, json, DecodeOptions.DEFAULT.withMaxInputLength(1024));
+        else if (mode == 1)
+          JSObject.parse(JSArray.class, new Utf8JsonTokenizer(json, 3, json.length - 3), DecodeOptions.DEFAULT.withMaxInputLength(1024));
+        else if (mode == 2)
+          JSObject.parse(JSArray.class, new ByteBufferJsonTokenizer(ByteBuffer.wrap(json).asReadOnlyBuffer()), DecodeOptions.DEFAULT.withMaxInputLength(1024));
+        else
+          JSObject.parse(JSArray.class, new ByteBufferJsonTokenizer(((ByteBuffer)ByteBuffer.wrap(json).position(3)).asReadOnlyBuffer()), DecodeOptions.DEFAULT.withMaxInputLength(1024));
+
+        fail("Expected DecodeException");
+      }
+      catch (final DecodeException e) {
+        assertTrue(e.getMessage(), e.getMessage().startsWith("Input length exceeds the limit of 1024"));
+        assertEquals(0, e.getPosition());
+        assertEquals(1, e.getLine());
+        assertNull(e.getJSON());
+        assertTrue(String.valueOf(e.getMessage().length()), e.getMessage().length() < InputHistory.DEFAULT_WINDOW * 2);
+      }
+    }
+  }
+}
\ No newline at end of file
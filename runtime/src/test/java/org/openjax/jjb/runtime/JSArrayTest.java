@@ -21,6 +21,8 @@ import static org.junit.Assert.*;
 import java.io.IOException;
 import java.io.StringReader;
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.junit.Test;
 
@@ -90,4 +92,47 @@ public class JSArrayTest {
         assertEquals(j, inner2.get(j).intValue());
     }
   }
+
+  @Test
+  public void testEquals() {
+    final JSArray<Integer> array = new JSArray<>(Arrays.asList(1, 2, null, 2));
+    final ArrayList<Integer> list = new ArrayList<>(array);
+    assertEquals(list, array);
+    assertEquals(array, list);
+    assertEquals(list.hashCode(), array.hashCode());
+    assertEquals(new JSArray<>(list), array);
+    assertFalse(new JSArray<>(Arrays.asList(2, 1, null)).equals(array));
+    assertFalse(array.equals(Arrays.asList(1, 2, null)));
+    assertFalse(array.equals(Arrays.asList(1, 2, 2, null)));
+  }
+
+  @Test
+  public void testLong() throws DecodeException, IOException {
+    final int length = 100000;
+    final StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < length; ++i)
+      builder.append(i).append(',');
+
+    builder.setCharAt(builder.length() - 1, ']');
+    final JSArray<BigInteger> jsObj = JSObject.parse(JSArray.class, new StringReader(builder.toString()));
+    assertEquals(length, jsObj.size());
+    for (int i = 0; i < length; i += 997)
+      assertEquals(i, jsObj.get(i).intValue());
+  }
+
+  @Test
+  public void testDeep() throws DecodeException, IOException {
+    final int depth = 100000;
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < depth; ++i)
+      builder.append("[{\"a\": ");
+
+    builder.append('0');
+    for (int i = 0; i < depth; ++i)
+      builder.append("}]");
+
+    final JSArray<?> jsObj = JSObject.parse(JSArray.class, new StringReader(builder.toString()));
+    assertEquals(1, jsObj.size());
+    assertNull(jsObj.get(0));
+  }
 }
\ No newline at end of file
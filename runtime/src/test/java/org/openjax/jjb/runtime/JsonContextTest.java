@@ -0,0 +1,111 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class JsonContextTest {
+  private static String string(final JsonTokenizer tokenizer) throws DecodeException, IOException {
+    assertEquals('[', tokenizer.nextToken());
+    assertEquals('"', tokenizer.nextToken());
+    return tokenizer.getCachedString();
+  }
+
+  @Test
+  public void testReuse() throws DecodeException, IOException {
+    final JsonContext context = new JsonContext();
+    final byte[] bytes = context.bytes();
+    final char[] chars = context.chars();
+    final String[] json = {"[\"USD\", \"a\\tlonger\\u0021 value\"]", "[\"USD\", \"b\\n\"]"};
+    final String[] expected = {"a\tlonger! value", "b\n"};
+    String first = null;
+    for (int i = 0; i < json.length; ++i) {
+      final JsonTokenizer[] tokenizers = {new Utf8JsonTokenizer(new ByteArrayInputStream(json[i].getBytes(StandardCharsets.UTF_8)), context), new CharJsonTokenizer(new JsonReader(new StringReader(json[i]), context), context)};
+      for (final JsonTokenizer tokenizer : tokenizers) {
+        final String value = string(tokenizer);
+        if (first == null)
+          first = value;
+
+        // The cache of the context outlives each document
+        assertSame(first, value);
+        assertEquals(',', tokenizer.nextToken());
+        assertEquals('"', tokenizer.nextToken());
+        assertEquals(expected[i], tokenizer.getString());
+      }
+    }
+
+    assertSame(bytes, context.bytes());
+    assertSame(chars, context.chars());
+  }
+
+  @Test
+  public void testInUse() throws DecodeException, IOException {
+    final JsonContext context = new JsonContext();
+    context.acquire();
+    try {
+      JSObject.parse(JSArray.class, new StringReader("[1, 2]"), DecodeOptions.DEFAULT, context);
+      fail("Expected IllegalStateException");
+    }
+    catch (final IllegalStateException e) {
+    }
+
+    context.release();
+    final JSArray<?> array = JSObject.parse(JSArray.class, new StringReader("[1, 2]"), DecodeOptions.DEFAULT, context);
+    assertEquals(2, array.size());
+  }
+
+  @Test
+  public void testNested() throws DecodeException, IOException {
+    final JsonContext context = JsonContext.get();
+    context.acquire();
+    try {
+      assertNotSame(context, JsonContext.get());
+      final JSArray<?> array = JSObject.parse(JSArray.class, "[\"a\\\"b\"]".getBytes(StandardCharsets.UTF_8));
+      assertEquals("a\"b", array.get(0));
+    }
+    finally {
+      context.release();
+    }
+
+    assertSame(context, JsonContext.get());
+  }
+
+  @Test
+  public void testError() throws DecodeException, IOException {
+    final JsonContext context = new JsonContext();
+    for (final String json : new String[] {"[1, 2, x]", "[\"a\", nul]"}) {
+      try {
+        JSObject.parse(JSArray.class, new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), DecodeOptions.DEFAULT, context);
+        fail("Expected DecodeException");
+      }
+      catch (final DecodeException e) {
+        // The context of the error is recorded before the context is released
+        assertTrue(e.getMessage(), e.getMessage().contains(json));
+      }
+    }
+
+    final JSArray<?> array = JSObject.parse(JSArray.class, new ByteArrayInputStream("[3]".getBytes(StandardCharsets.UTF_8)), DecodeOptions.DEFAULT, context);
+    assertEquals(1, array.size());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,205 @@
+/* Copyright (c) 2017 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+public class JsonPushParserTest {
+  private static void feed(final JsonPushParser<?> parser, final String json, final int chunkSize) throws DecodeException, IOException {
+    final byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+    for (int i = 0; i < bytes.length; i += chunkSize)
+      parser.feed(ByteBuffer.wrap(bytes, i, Math.min(chunkSize, bytes.length - i)));
+
+    parser.endOfInput();
+  }
+
+  private static List<String> documents(final String json, final int chunkSize, final DecodeOptions options) throws DecodeException, IOException {
+    final List<String> documents = new ArrayList<>();
+    final JsonPushParser<JSArray<?>> parser = new JsonPushParser<>(JSArray.class, options, a -> documents.add(a.toExternalForm()));
+    feed(parser, json, chunkSize);
+    assertTrue(parser.isDone());
+    return documents;
+  }
+
+  private static <T>List<T> elements(final Class<T> type, final String json, final int chunkSize) throws DecodeException, IOException {
+    final List<T> values = new ArrayList<>();
+    final JsonPushParser<T> parser = new JsonPushParser<>(type, DecodeOptions.DEFAULT, true, Long.MAX_VALUE, values::add);
+    feed(parser, json, chunkSize);
+    assertTrue(parser.isDone());
+    return values;
+  }
+
+  @Test
+  public void testByteByByte() throws DecodeException, IOException {
+    final String json = "[\"a\\\"]\", \"b\\\\\", [\"]\", [\"[\\u005d\"]], \"\\u0022]\"]";
+    final String expected = JSObject.<JSArray<?>>parse(JSArray.class, json.getBytes(StandardCharsets.UTF_8)).toExternalForm();
+    for (int chunkSize = 1; chunkSize <= json.length(); ++chunkSize)
+      assertEquals(Arrays.asList(expected), documents(json, chunkSize, DecodeOptions.DEFAULT));
+  }
+
+  @Test
+  public void testConcatenated() throws DecodeException, IOException {
+    for (int chunkSize = 1; chunkSize < 8; ++chunkSize) {
+      assertEquals(Arrays.asList("[1]", "[\"]\"]", "[[]]", "[true]"), documents("[1][\"]\"] [[]]\n\n\t[true]\n", chunkSize, DecodeOptions.DEFAULT));
+      assertEquals(Arrays.asList(), documents(" \n", chunkSize, DecodeOptions.DEFAULT));
+    }
+  }
+
+  @Test
+  public void testTruncated() throws DecodeException, IOException {
+    final String[] truncated = {"[1, [2", "[\"ab", "[\"ab\\", "[1][2, "};
+    for (final String json : truncated) {
+      try {
+        documents(json, 1, DecodeOptions.DEFAULT);
+        fail("Expected IOException: " + json);
+      }
+      catch (final IOException e) {
+        assertEquals("EOS", e.getMessage());
+      }
+    }
+
+    try {
+      documents("[1] 2", 1, DecodeOptions.DEFAULT);
+      fail("Expected DecodeException");
+    }
+    catch (final DecodeException e) {
+      assertTrue(e.getMessage(), e.getMessage().startsWith("Expected \"{\" or \"[\" but found \"2\""));
+    }
+  }
+
+  @Test
+  public void testMaxInputLength() throws DecodeException, IOException {
+    final DecodeOptions options = DecodeOptions.DEFAULT.withMaxInputLength(8);
+    final StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 1000; ++i)
+      builder.append("[123456]");
+
+    assertEquals(1000, documents(builder.toString(), 4096, options).size());
+    for (int chunkSize = 1; chunkSize < 16; chunkSize += 7) {
+      try {
+        documents("[1][12345678]", chunkSize, options);
+        fail("Expected DecodeException");
+      }
+      catch (final DecodeException e) {
+        assertTrue(e.getMessage(), e.getMessage().startsWith("Input length exceeds the limit of 8"));
+        assertEquals(0, e.getPosition());
+      }
+    }
+  }
+
+  @Test
+  public void testElements() throws DecodeException, IOException {
+    for (int chunkSize = 1; chunkSize < 8; ++chunkSize) {
+      assertEquals(Arrays.asList("x", null, "y\"]", "z"), elements(String.class, "[\"x\", null, \"y\\\"]\"] [] [\"z\"]", chunkSize));
+      assertEquals(Arrays.asList(1L, -2L, 3L, 4L), elements(Long.class, " [1, -2,3]\n[]\n[4]", chunkSize));
+      assertEquals(Arrays.asList(), elements(Long.class, "[] []", chunkSize));
+    }
+  }
+
+  @Test
+  public void testElementsType() {
+    try {
+      new JsonPushParser<String>(String.class, values -> {});
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testDemand() throws DecodeException, IOException {
+    final List<String> documents = new ArrayList<>();
+    final JsonPushParser<JSArray<?>> parser = new JsonPushParser<>(JSArray.class, DecodeOptions.DEFAULT, false, 0, a -> documents.add(a.toExternalForm()));
+    assertFalse(parser.needsInput());
+    parser.feed(ByteBuffer.wrap("[1] [2]".getBytes(StandardCharsets.UTF_8)));
+    assertEquals(0, documents.size());
+    parser.request(1);
+    assertEquals(Arrays.asList("[1]"), documents);
+    assertFalse(parser.needsInput());
+    parser.request(2);
+    assertEquals(Arrays.asList("[1]", "[2]"), documents);
+    assertTrue(parser.needsInput());
+    parser.feed(ByteBuffer.wrap("[3][4]".getBytes(StandardCharsets.UTF_8)));
+    assertEquals(Arrays.asList("[1]", "[2]", "[3]"), documents);
+    parser.endOfInput();
+    assertFalse(parser.isDone());
+    parser.request(Long.MAX_VALUE);
+    assertEquals(Arrays.asList("[1]", "[2]", "[3]", "[4]"), documents);
+    assertTrue(parser.isDone());
+    try {
+      parser.request(0);
+      fail("Expected IllegalArgumentException");
+    }
+    catch (final IllegalArgumentException e) {
+    }
+  }
+
+  @Test
+  public void testDemandElements() throws DecodeException, IOException {
+    final List<Long> values = new ArrayList<>();
+    final JsonPushParser<Long> parser = new JsonPushParser<>(Long.class, DecodeOptions.DEFAULT, true, 0, values::add);
+    parser.feed(ByteBuffer.wrap("[1, 2] [3".getBytes(StandardCharsets.UTF_8)));
+    parser.request(2);
+    assertEquals(Arrays.asList(1L, 2L), values);
+    try {
+      parser.endOfInput();
+      parser.request(1);
+      fail("Expected IOException");
+    }
+    catch (final IOException e) {
+      assertEquals("EOS", e.getMessage());
+    }
+
+    assertEquals(Arrays.asList(1L, 2L, 3L), values);
+  }
+
+  @Test
+  public void testJsonLines() throws DecodeException, IOException {
+    final List<JSArray<?>> arrays = new ArrayList<>();
+    final StringBuilder lines = new StringBuilder();
+    for (int i = 0; i < 100; ++i) {
+      final JSArray<?> array = JSObject.parse(JSArray.class, ("[" + i + ", \"a\\n]\", [" + i + "]]").getBytes(StandardCharsets.UTF_8));
+      arrays.add(array);
+      lines.append(new String(JsonLinesWriter.encode(array).array(), StandardCharsets.UTF_8));
+    }
+
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    try (final JsonLinesWriter writer = new JsonLinesWriter(out, 4)) {
+      for (final JSArray<?> array : arrays)
+        writer.write(array);
+    }
+
+    final String json = new String(out.toByteArray(), StandardCharsets.UTF_8);
+    assertEquals(lines.toString(), json);
+    final List<String> expected = new ArrayList<>();
+    for (final JSArray<?> array : arrays)
+      expected.add(array.toExternalForm());
+
+    for (int chunkSize = 1; chunkSize < 64; chunkSize += 9)
+      assertEquals(expected, documents(json, chunkSize, DecodeOptions.DEFAULT));
+  }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+/* Copyright (c) 2017 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class JsonReaderTest {
+  private static String document(final int length) {
+    final StringBuilder builder = new StringBuilder("{\n\"a\": \"");
+    for (int i = 0; i < length; ++i)
+      builder.append(i % 10);
+
+    return builder.append("\",\n\"b\": tru}").toString();
+  }
+
+  @Test
+  public void testRetained() throws IOException {
+    final String json = document(10);
+    final JsonReader reader = new JsonReader(new StringReader(json));
+    assertEquals(json, reader.readFully());
+    assertEquals(json.length(), reader.getPosition());
+  }
+
+  @Test
+  public void testBounded() throws IOException {
+    final String json = document(100000);
+    try {
+      JSObject.parse(JSArray.class, new JsonReader(new StringReader("[" + json + "]"), false));
+      fail("Expected DecodeException");
+    }
+    catch (final DecodeException e) {
+      assertNull(e.getJSON());
+      assertEquals(json.length() - 3, e.getPosition());
+      assertEquals(3, e.getLine());
+      assertEquals(6, e.getColumn());
+      assertTrue(e.getMessage(), e.getMessage().endsWith("789\",\n\"b\": tru}]"));
+    }
+  }
+
+  @Test
+  public void testInMemory() throws IOException {
+    final byte[] json = ("[" + document(100000) + "]").getBytes(StandardCharsets.UTF_8);
+    final ByteBuffer direct = ByteBuffer.allocateDirect(json.length);
+    direct.put(json).flip();
+    for (int mode = 0; mode < 2; ++mode) {
+      try {
+        if (mode == 0)
+          JSObject.parse(JSArray.class, json);
+        else
+          JSObject.parse(JSArray.class, direct);
+
+        fail("Expected DecodeException");
+      }
+      catch (final DecodeException e) {
+        assertNull(e.getJSON());
+        assertEquals(json.length - 5, e.getPosition());
+        assertEquals(3, e.getLine());
+        assertEquals(6, e.getColumn());
+        assertTrue(e.getMessage(), e.getMessage().endsWith("789\",\n\"b\": tru}]"));
+      }
+    }
+  }
+}
\ No newline at end of file
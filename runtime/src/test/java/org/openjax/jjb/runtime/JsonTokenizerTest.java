@@ -0,0 +1,254 @@
+/* Copyright (c) 2017 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class JsonTokenizerTest {
+  private static JsonTokenizer tokenizer(final String json, final int bufferSize, final int mode) {
+    if (mode == 0)
+      return new CharJsonTokenizer(new JsonReader(new StringReader(json)), bufferSize);
+
+    return tokenizer(json.getBytes(StandardCharsets.UTF_8), bufferSize, mode);
+  }
+
+  private static JsonTokenizer tokenizer(final byte[] bytes, final int bufferSize, final int mode) {
+    if (mode == 1)
+      return new Utf8JsonTokenizer(new ByteArrayInputStream(bytes), bufferSize);
+
+    final byte[] padded = new byte[bytes.length + 2];
+    System.arraycopy(bytes, 0, padded, 1, bytes.length);
+    if (mode == 2)
+      return new Utf8JsonTokenizer(padded, 1, bytes.length);
+
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(padded.length);
+    buffer.put(padded).position(1).limit(bytes.length + 1);
+    return new ByteBufferJsonTokenizer(buffer);
+  }
+
+  @Test
+  public void testTokens() throws DecodeException, IOException {
+    for (int i = 0; i < 64; ++i) {
+      final JsonTokenizer tokenizer = tokenizer(" {\"a\\\"b\" :\t[-1.5e+3, true,null]\n}", i / 4 + 1, i % 4);
+      assertEquals('{', tokenizer.nextToken());
+      assertEquals(1, tokenizer.getPosition());
+      assertEquals('"', tokenizer.nextToken());
+      assertTrue(tokenizer.isEscaped());
+      assertEquals("a\"b", tokenizer.getString());
+      assertEquals(':', tokenizer.nextToken());
+      assertEquals('[', tokenizer.nextToken());
+      assertEquals('-', tokenizer.nextToken());
+      assertEquals("-1.5e+3", tokenizer.getText());
+      assertEquals(',', tokenizer.nextToken());
+      assertEquals('t', tokenizer.nextToken());
+      assertTrue(tokenizer.matches("true"));
+      assertEquals(',', tokenizer.nextToken());
+      assertEquals('n', tokenizer.nextToken());
+      assertTrue(tokenizer.matches("null"));
+      assertEquals(']', tokenizer.nextToken());
+      assertEquals('}', tokenizer.nextToken());
+      try {
+        tokenizer.nextToken();
+        fail("Expected IOException");
+      }
+      catch (final IOException e) {
+        assertEquals("EOS", e.getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void testTruncatedEscape() throws DecodeException, IOException {
+    for (int i = 0; i < 8; ++i) {
+      final JsonTokenizer tokenizer = tokenizer("[\"ab\\", i / 4 + 1, i % 4);
+      assertEquals('[', tokenizer.nextToken());
+      try {
+        tokenizer.nextToken();
+        fail("Expected IOException");
+      }
+      catch (final IOException e) {
+        assertEquals("EOS", e.getMessage());
+      }
+    }
+
+    for (int i = 0; i < 8; ++i) {
+      final JsonTokenizer tokenizer = tokenizer("[[\"ab\\", i / 4 + 1, i % 4);
+      assertEquals('[', tokenizer.nextToken());
+      assertEquals('[', tokenizer.nextToken());
+      try {
+        tokenizer.skipValue('[');
+        fail("Expected IOException");
+      }
+      catch (final IOException e) {
+        assertEquals("EOS", e.getMessage());
+      }
+    }
+  }
+
+  @Test
+  public void testEscapes() throws DecodeException, IOException {
+    for (int mode = 0; mode < 4; ++mode) {
+      final JsonTokenizer tokenizer = tokenizer("\"\\t\\u0041\\\\\\/\"", 4, mode);
+      assertEquals('"', tokenizer.nextToken());
+      assertEquals("\tA\\/", tokenizer.getString());
+    }
+  }
+
+  @Test
+  public void testUtf8() throws DecodeException, IOException {
+    final String value = "caf\u00e9 \u20ac \ud83d\ude00";
+    for (int mode = 1; mode < 4; ++mode) {
+      final JsonTokenizer tokenizer = tokenizer("[\"" + value + "\", \"" + value + "\\n\"]", 3, mode);
+      assertEquals('[', tokenizer.nextToken());
+      assertEquals('"', tokenizer.nextToken());
+      assertEquals(value, tokenizer.getString());
+      assertEquals(',', tokenizer.nextToken());
+      assertEquals('"', tokenizer.nextToken());
+      assertEquals(value + "\n", tokenizer.getString());
+      assertEquals(']', tokenizer.nextToken());
+    }
+  }
+
+  private static byte[] concat(final byte[] ... arrays) {
+    int length = 0;
+    for (final byte[] array : arrays)
+      length += array.length;
+
+    final byte[] bytes = new byte[length];
+    length = 0;
+    for (final byte[] array : arrays) {
+      System.arraycopy(array, 0, bytes, length, array.length);
+      length += array.length;
+    }
+
+    return bytes;
+  }
+
+  @Test
+  public void testMalformedUtf8() throws DecodeException, IOException {
+    final byte[][] malformed = {
+      {(byte)0xC3, 'x'}, // Missing continuation byte
+      {(byte)0xE2, (byte)0x82}, // Truncated sequence
+      {(byte)0x80, (byte)0xBF}, // Unexpected continuation bytes
+      {(byte)0xC0, (byte)0x80}, // Overlong NUL
+      {(byte)0xE0, (byte)0x80, (byte)0xAF}, // Overlong "/"
+      {(byte)0xED, (byte)0xA0, (byte)0x80}, // Encoded surrogate
+      {(byte)0xF4, (byte)0x90, (byte)0x80, (byte)0x80}, // Above U+10FFFF
+      {(byte)0xFF}
+    };
+
+    final byte[] quote = {'"'};
+    final byte[] escape = {'\\', 'n'};
+    final byte[] tail = {'z'};
+    for (final byte[] bytes : malformed) {
+      final String expected = new String(concat(bytes, tail), StandardCharsets.UTF_8);
+      assertTrue(expected.indexOf('\ufffd') != -1);
+      for (int mode = 1; mode < 4; ++mode) {
+        // Malformed UTF-8 is replaced alike whether or not the string is escaped
+        final JsonTokenizer unescaped = tokenizer(concat(quote, bytes, tail, quote), 3, mode);
+        assertEquals('"', unescaped.nextToken());
+        assertFalse(unescaped.isEscaped());
+        assertEquals(expected, unescaped.getString());
+
+        final JsonTokenizer escaped = tokenizer(concat(quote, escape, bytes, tail, escape, quote), 3, mode);
+        assertEquals('"', escaped.nextToken());
+        assertTrue(escaped.isEscaped());
+        assertEquals("\n" + expected + "\n", escaped.getString());
+      }
+    }
+  }
+
+  @Test
+  public void testIllegalEscape() throws DecodeException, IOException {
+    for (final String escape : new String[] {"\\uZZZZ", "\\u00g1", "\\u+123", "\\u\uff11234"}) {
+      for (int mode = 0; mode < 4; ++mode) {
+        final JsonTokenizer tokenizer = tokenizer("\"a" + escape + "\"", 4, mode);
+        assertEquals('"', tokenizer.nextToken());
+        try {
+          tokenizer.getString();
+          fail("Expected DecodeException");
+        }
+        catch (final DecodeException e) {
+          assertTrue(e.getMessage(), e.getMessage().startsWith("Illegal unicode escape sequence: \"\\u"));
+        }
+      }
+    }
+  }
+
+  @Test
+  public void testMatchesString() throws DecodeException, IOException {
+    for (int mode = 0; mode < 4; ++mode) {
+      final JsonTokenizer tokenizer = tokenizer("[\"name\", \"n\\u0061me\", \"caf\u00e9\"]", 3, mode);
+      assertEquals('[', tokenizer.nextToken());
+      assertEquals('"', tokenizer.nextToken());
+      assertTrue(tokenizer.matchesString("name"));
+      assertFalse(tokenizer.matchesString("nam"));
+      assertFalse(tokenizer.matchesString("namf"));
+      assertEquals(',', tokenizer.nextToken());
+      assertEquals('"', tokenizer.nextToken());
+      assertFalse(tokenizer.matchesString("name"));
+      assertEquals("name", tokenizer.getString());
+      assertEquals(',', tokenizer.nextToken());
+      assertEquals('"', tokenizer.nextToken());
+      assertFalse(tokenizer.matchesString("cafe"));
+    }
+  }
+
+  @Test
+  public void testSkipValue() throws DecodeException, IOException {
+    for (int i = 0; i < 64; ++i) {
+      final JsonTokenizer tokenizer = tokenizer("[{\"a\": [1, {\"b\": \"]}\\\"[\"}], \"c\": {}}, \"d\", []]", i / 4 + 1, i % 4);
+      assertEquals('[', tokenizer.nextToken());
+      final char ch = tokenizer.nextToken();
+      tokenizer.skipValue(ch);
+      assertEquals(1, tokenizer.getLength());
+      assertEquals(35, tokenizer.getPosition());
+      assertEquals(',', tokenizer.nextToken());
+      assertEquals('"', tokenizer.nextToken());
+      tokenizer.skipValue('"');
+      assertEquals("d", tokenizer.getString());
+      assertEquals(',', tokenizer.nextToken());
+      assertEquals('[', tokenizer.nextToken());
+      tokenizer.skipValue('[');
+      assertEquals(']', tokenizer.charAt(0));
+      assertEquals(']', tokenizer.nextToken());
+    }
+  }
+
+  @Test
+  public void testIsEnd() throws DecodeException, IOException {
+    for (int i = 0; i < 64; ++i) {
+      final JsonTokenizer tokenizer = tokenizer("{\"a\": 1}\n{}\r\n  \n", i / 4 + 1, i % 4);
+      assertFalse(tokenizer.isEnd());
+      assertEquals('{', tokenizer.nextToken());
+      tokenizer.skipValue('{');
+      assertFalse(tokenizer.isEnd());
+      assertEquals('{', tokenizer.nextToken());
+      assertEquals('}', tokenizer.nextToken());
+      assertTrue(tokenizer.isEnd());
+      assertTrue(tokenizer.isEnd());
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,81 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+import org.openjax.jjb.runtime.decoder.StringDecoder;
+
+public class JsonWriterTest {
+  private static final String[] strings = {"", "abc", "a\"b\\c/d", "\t\b\n\r\f\u0000\u001f ", "caf\u00e9 \u20ac \ud83d\ude00", "\ud83d", "x\ude00y\ud83d"};
+
+  @Test
+  public void testString() throws IOException {
+    for (final String string : strings) {
+      final JsonWriter out = new JsonWriter();
+      out.writeString(string);
+      assertEquals("\"" + StringDecoder.escapeString(string) + "\"", out.toString());
+      assertEquals(out.toString().length(), out.getLength());
+    }
+  }
+
+  @Test
+  public void testLong() throws IOException {
+    final long[] values = {0, 7, -7, 10, 99, 100, 1234567890123L, Long.MAX_VALUE, Long.MIN_VALUE};
+    for (final long value : values) {
+      final JsonWriter out = new JsonWriter();
+      out.write(value);
+      assertEquals(String.valueOf(value), out.toString());
+    }
+  }
+
+  @Test
+  public void testUtf8() throws IOException {
+    final StringBuilder builder = new StringBuilder();
+    for (final String string : strings)
+      builder.append(string).append(',');
+
+    final String text = builder.toString();
+    for (int bufferSize = 4; bufferSize < 12; ++bufferSize) {
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      try (final JsonWriter out = new JsonWriter(bytes, bufferSize)) {
+        out.write(text);
+      }
+
+      assertArrayEquals(text.getBytes(StandardCharsets.UTF_8), bytes.toByteArray());
+    }
+  }
+
+  @Test
+  public void testWriter() throws IOException {
+    final StringWriter writer = new StringWriter();
+    final JsonWriter out = new JsonWriter(writer, 3);
+    out.write("[1");
+    out.writePad(2);
+    out.write(',');
+    out.writeString("\ud83d\ude00");
+    out.write(']');
+    out.flush();
+    assertEquals("[1    ,\"\ud83d\ude00\"]", writer.toString());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,71 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+public class PrimitiveArrayTest {
+  @Test
+  public void testLong() {
+    final LongArray array = new LongArray(1);
+    for (long i = 0; i < 10; ++i)
+      array.addLong(i * i);
+
+    assertEquals(10, array.size());
+    assertEquals(81, array.getLong(9));
+    array.addLong(0, -1);
+    assertEquals(-1, array.removeLong(0));
+    assertEquals(Long.valueOf(4), array.remove(2));
+    assertEquals(9, array.size());
+    assertArrayEquals(new long[] {0, 1, 9, 16, 25, 36, 49, 64, 81}, array.toLongArray());
+    assertEquals(Arrays.asList(0L, 1L, 9L, 16L, 25L, 36L, 49L, 64L, 81L), array);
+    assertEquals(array, array.clone());
+    assertEquals("[0, 1, 9, 16, 25, 36, 49, 64, 81]", array.toString());
+    try {
+      array.set(0, null);
+      fail("Expected NullPointerException");
+    }
+    catch (final NullPointerException e) {
+    }
+  }
+
+  @Test
+  public void testDouble() {
+    final DoubleArray array = new DoubleArray(1.5, -2, 3e-3);
+    assertEquals(-2, array.getDouble(1), 0);
+    assertTrue(array.contains(3e-3));
+    assertEquals(Arrays.asList(1.5, -2d, 3e-3).hashCode(), array.hashCode());
+    assertEquals(Double.valueOf(1.5), array.set(0, 2.5));
+    assertArrayEquals(new double[] {2.5, -2, 3e-3}, array.toDoubleArray(), 0);
+  }
+
+  @Test
+  public void testBoolean() {
+    final BooleanArray array = new BooleanArray(true, false, true);
+    array.addBoolean(1, true);
+    assertEquals(Arrays.asList(true, true, false, true), array);
+    assertFalse(array.removeBoolean(2));
+    assertTrue(Arrays.equals(new boolean[] {true, true, true}, array.toBooleanArray()));
+    assertEquals("[true, true, true]", array.toString());
+    array.clear();
+    assertTrue(array.isEmpty());
+  }
+}
\ No newline at end of file
@@ -0,0 +1,67 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+public class ProjectionTest {
+  @Test
+  public void testPaths() {
+    final Projection projection = new Projection("id", "items[0..50].name", "items[10..].id", "meta.tags[..5]", "meta");
+    assertTrue(projection.isPartial());
+    assertTrue(projection.includes("id"));
+    assertFalse(projection.includes("name"));
+    assertNull(projection.get("name"));
+    assertFalse(projection.get("id").isPartial());
+    assertFalse(projection.get("meta").isPartial());
+    assertNull(projection.get("meta").get("tags"));
+
+    final Projection items = projection.get("items");
+    assertTrue(items.includes(0));
+    assertTrue(items.includes(1000));
+    assertTrue(items.includes("name"));
+    assertTrue(items.includes("id"));
+    assertFalse(items.includes("price"));
+    assertFalse(items.isPast(Integer.MAX_VALUE - 1));
+  }
+
+  @Test
+  public void testSlice() {
+    final Projection tags = new Projection("tags[2..5]").get("tags");
+    assertFalse(tags.isPartial());
+    assertFalse(tags.includes(1));
+    assertTrue(tags.includes(2));
+    assertTrue(tags.includes(4));
+    assertFalse(tags.includes(5));
+    assertTrue(tags.isPast(5));
+    assertEquals("[2..5]", tags.toString());
+  }
+
+  @Test
+  public void testMalformed() {
+    for (final String path : new String[] {"", "a..b", "a[1]", "a[x..2]", "a[3..2]", "[0..1]"}) {
+      try {
+        new Projection(path);
+        fail("Expected IllegalArgumentException: " + path);
+      }
+      catch (final IllegalArgumentException e) {
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,77 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.Test;
+
+public class StringCacheTest {
+  private static String[] decode(final JsonTokenizer tokenizer, final int count) throws DecodeException, IOException {
+    final String[] values = new String[count];
+    assertEquals('[', tokenizer.nextToken());
+    for (int i = 0; i < count; ++i) {
+      if (i > 0)
+        assertEquals(',', tokenizer.nextToken());
+
+      assertEquals('"', tokenizer.nextToken());
+      values[i] = tokenizer.getCachedString();
+    }
+
+    assertEquals(']', tokenizer.nextToken());
+    return values;
+  }
+
+  @Test
+  public void testShared() throws DecodeException, IOException {
+    final String json = "[\"USD\", \"EUR\", \"USD\", \"U\\u0053D\", \"caf\u00e9\", \"caf\u00e9\", \"USD\"]";
+    final JsonTokenizer[] tokenizers = {new CharJsonTokenizer(new JsonReader(new StringReader(json)), 4), new Utf8JsonTokenizer(new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8)), 4)};
+    for (final JsonTokenizer tokenizer : tokenizers) {
+      final String[] values = decode(tokenizer, 7);
+      assertEquals("USD", values[0]);
+      assertEquals("EUR", values[1]);
+      assertSame(values[0], values[2]);
+      assertEquals("USD", values[3]);
+      assertNotSame(values[0], values[3]);
+      assertEquals("caf\u00e9", values[4]);
+      assertNotSame(values[4], values[5]);
+      assertSame(values[0], values[6]);
+    }
+  }
+
+  @Test
+  public void testBounded() throws DecodeException, IOException {
+    final StringCache cache = new StringCache(1, 4);
+    final JsonTokenizer tokenizer = new CharJsonTokenizer(new JsonReader(new StringReader("[\"abcde\", \"abcde\", \"ab\", \"cd\", \"cd\"]")), 64);
+    final String[] values = new String[5];
+    assertEquals('[', tokenizer.nextToken());
+    for (int i = 0; i < values.length; ++i) {
+      assertEquals('"', tokenizer.nextToken());
+      values[i] = cache.get(tokenizer);
+      tokenizer.nextToken();
+    }
+
+    assertNotSame(values[0], values[1]);
+    assertEquals("ab", values[2]);
+    assertSame(values[3], values[4]);
+  }
+}
\ No newline at end of file
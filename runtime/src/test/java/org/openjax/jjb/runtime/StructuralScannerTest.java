@@ -0,0 +1,50 @@
+/* Copyright (c) 2018 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime;
+
+import static org.junit.Assert.*;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class StructuralScannerTest {
+  private static final byte[] alphabet = {' ', '\t', '\n', '\r', '"', '\\', 'a', '0', '{', (byte)0x80, (byte)0xA0, (byte)0xE2, 0x00, 0x7F, (byte)0xFF};
+
+  @Test
+  public void testScan() {
+    final Random random = new Random(1);
+    for (int n = 0; n < 2000; ++n) {
+      final byte[] bytes = new byte[random.nextInt(40)];
+      for (int i = 0; i < bytes.length; ++i)
+        bytes[i] = random.nextInt(4) == 0 ? alphabet[random.nextInt(alphabet.length)] : alphabet[random.nextInt(4)];
+
+      for (int from = 0; from <= bytes.length; ++from) {
+        int quote = from;
+        while (quote < bytes.length && bytes[quote] != '"' && bytes[quote] != '\\')
+          ++quote;
+
+        int token = from;
+        while (token < bytes.length && JsonTokenizer.isWhitespace(bytes[token]))
+          ++token;
+
+        assertEquals(quote, StructuralScanner.indexOfQuoteOrBackslash(bytes, from, bytes.length));
+        assertEquals(token, StructuralScanner.skipWhitespace(bytes, from, bytes.length));
+      }
+    }
+  }
+}
\ No newline at end of file
@@ -0,0 +1,75 @@
+/* Copyright (c) 2017 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime.decoder;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+import org.junit.Test;
+import org.openjax.jjb.runtime.CharJsonTokenizer;
+import org.openjax.jjb.runtime.DecodeException;
+import org.openjax.jjb.runtime.JsonReader;
+import org.openjax.jjb.runtime.JsonTokenizer;
+
+public class NumberDecoderTest {
+  private static JsonTokenizer tokenizer(final String number) throws DecodeException, IOException {
+    final JsonTokenizer tokenizer = new CharJsonTokenizer(new JsonReader(new StringReader(number)));
+    tokenizer.nextToken();
+    return tokenizer;
+  }
+
+  private static void assertLong(final long expected, final String number) throws DecodeException, IOException {
+    assertEquals(expected, NumberDecoder.parseLong(tokenizer(number)));
+  }
+
+  private static void assertLongError(final String expected, final String number) throws IOException {
+    try {
+      NumberDecoder.parseLong(tokenizer(number));
+      fail("Expected DecodeException");
+    }
+    catch (final DecodeException e) {
+      assertTrue(e.getMessage(), e.getMessage().startsWith(expected));
+    }
+  }
+
+  private static void assertDouble(final String number) throws DecodeException, IOException {
+    assertEquals(Double.doubleToLongBits(Double.parseDouble(number)), Double.doubleToLongBits(NumberDecoder.parseDouble(tokenizer(number))));
+  }
+
+  @Test
+  public void testParseLong() throws DecodeException, IOException {
+    assertLong(0, "0");
+    assertLong(-7, "-7");
+    assertLong(1234567890123L, "1234567890123");
+    assertLong(Long.MAX_VALUE, "9223372036854775807");
+    assertLong(Long.MIN_VALUE, "-9223372036854775808");
+    assertLongError("is out of range of \"int64\"", "9223372036854775808");
+    assertLongError("is out of range of \"int64\"", "-9223372036854775809");
+    assertLongError("is not an \"integer\"", "1.5");
+    assertLongError("is not an \"integer\"", "1e3");
+    assertLongError("Illegal number", "-");
+    assertLongError("Illegal number", "1-2");
+  }
+
+  @Test
+  public void testParseDouble() throws DecodeException, IOException {
+    for (final String number : new String[] {"0", "-0", "0.0", "1", "-1.5", "3.1415", "0.1", "0.000123", "123456789012345", "1234567890123456789", "1e22", "1e23", "2.5e-3", "-2.5E+3", "1.7976931348623157e308", "4.9e-324", "9007199254740993", "0.30000000000000004"})
+      assertDouble(number);
+  }
+}
\ No newline at end of file
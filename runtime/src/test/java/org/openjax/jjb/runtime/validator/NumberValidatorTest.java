@@ -0,0 +1,68 @@
+/* Copyright (c) 2017 OpenJAX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * You should have received a copy of The MIT License (MIT) along with this
+ * program. If not, see <http://opensource.org/licenses/MIT/>.
+ */
+
+package org.openjax.jjb.runtime.validator;
+
+import static org.junit.Assert.*;
+
+import java.math.BigDecimal;
+
+import org.junit.Test;
+
+public class NumberValidatorTest {
+  @Test
+  public void testLong() {
+    final NumberValidator validator = new NumberValidator(true, new BigDecimal("-1.5"), false, new BigDecimal("10"), false);
+    assertNull(validator.validate(-1L));
+    assertNull(validator.validate(9L));
+    assertEquals("min exclusive bound \"-1.5\" violated (\"-2\")", validator.validate(-2L));
+    assertEquals("max exclusive bound \"10\" violated (\"10\")", validator.validate(10L));
+    assertEquals(validator.validate(Long.valueOf(10)), validator.validate(10L));
+
+    final NumberValidator int32 = new NumberValidator(true, BigDecimal.valueOf(Integer.MIN_VALUE), true, BigDecimal.valueOf(Integer.MAX_VALUE), true);
+    assertNull(int32.validate((long)Integer.MAX_VALUE));
+    assertEquals("max inclusive bound \"2147483647\" violated (\"2147483648\")", int32.validate(Integer.MAX_VALUE + 1L));
+  }
+
+  @Test
+  public void testLongBeyondRange() {
+    final BigDecimal longMax = BigDecimal.valueOf(Long.MAX_VALUE);
+    final BigDecimal longMin = BigDecimal.valueOf(Long.MIN_VALUE);
+
+    // A min above the range of long is violated by every long
+    final NumberValidator aboveLong = new NumberValidator(true, longMax.add(BigDecimal.ONE), true, null, true);
+    assertEquals("min inclusive bound \"9223372036854775808\" violated (\"9223372036854775807\")", aboveLong.validate(Long.MAX_VALUE));
+    assertEquals(aboveLong.validate(Long.valueOf(Long.MIN_VALUE)), aboveLong.validate(Long.MIN_VALUE));
+    assertEquals("min exclusive bound \"9223372036854775807\" violated (\"9223372036854775807\")", new NumberValidator(true, longMax, false, null, true).validate(Long.MAX_VALUE));
+    assertNull(new NumberValidator(true, longMax, true, null, true).validate(Long.MAX_VALUE));
+
+    // A max below the range of long is violated by every long
+    final NumberValidator belowLong = new NumberValidator(true, null, true, longMin.subtract(BigDecimal.ONE), true);
+    assertEquals("max inclusive bound \"-9223372036854775809\" violated (\"-9223372036854775808\")", belowLong.validate(Long.MIN_VALUE));
+    assertEquals(belowLong.validate(Long.valueOf(Long.MAX_VALUE)), belowLong.validate(Long.MAX_VALUE));
+    assertEquals("max exclusive bound \"-9223372036854775808\" violated (\"-9223372036854775808\")", new NumberValidator(true, null, true, longMin, false).validate(Long.MIN_VALUE));
+    assertNull(new NumberValidator(true, null, true, longMin, true).validate(Long.MIN_VALUE));
+  }
+
+  @Test
+  public void testDouble() {
+    final NumberValidator validator = new NumberValidator(false, new BigDecimal("0"), true, new BigDecimal("1"), false);
+    assertNull(validator.validate(0d));
+    assertNull(validator.validate(0.5));
+    assertEquals("min inclusive bound \"0\" violated (\"-0.5\")", validator.validate(-0.5));
+    assertEquals("max exclusive bound \"1\" violated (\"1.0\")", validator.validate(1d));
+  }
+}
\ No newline at end of file